@@ -30,10 +30,21 @@ public class ChillySwerve {
   // field-centric mode toggle
   private static boolean field_centric = true;
 
-  // robot dimension ratios (units don't matter, just be consistent with all three)
+  // robot dimensions (units don't matter, just be consistent with both)
   private static final double l = 23.5; // drive base length
   private static final double w = 17.0; // drive base width
-  private static final double r = Math.sqrt((l * l) + (w * w)); // diagonal drive base length
+
+  // wheel positions forward and to the side of the center, in the order fl, fr, bl, br
+  private static final SwerveKinematics kinematics =
+      new SwerveKinematics(
+          new double[] {l / 2, w / 2},
+          new double[] {l / 2, -w / 2},
+          new double[] {-l / 2, w / 2},
+          new double[] {-l / 2, -w / 2});
+
+  // wheel speeds and angles, reused every loop
+  private static final double[] wheelSpeeds = new double[4];
+  private static final double[] wheelAngles = new double[4];
 
   // gyro angle
   private static double angleDeg = 0.0;
@@ -156,51 +167,20 @@ public class ChillySwerve {
 
   public static void swerveDrive(double fwd, double str, double rot) {
 
-    // theoretical trig calc - has rotation problem
-    //double a = str - (rot * (l / r));
-    //double b = str + (rot * (l / r));
-    //double c = fwd - (rot * (w / r));
-    //double d = fwd + (rot * (w / r));
-
-    // protobot trig calc - works correctly
-    double a = str - (rot * (l / r));
-    double b = str + (rot * (l / r));
-    double c = fwd + (rot * (w / r));
-    double d = fwd - (rot * (w / r));
-
-    double ws1 = Math.sqrt((b * b) + (c * c));
-    double ws2 = Math.sqrt((b * b) + (d * d));
-    double ws3 = Math.sqrt((a * a) + (d * d));
-    double ws4 = Math.sqrt((a * a) + (c * c));
-
-    double wa1 = Math.atan2(b, c) * 180 / Math.PI;
-    double wa2 = Math.atan2(b, d) * 180 / Math.PI;
-    double wa3 = Math.atan2(a, d) * 180 / Math.PI;
-    double wa4 = Math.atan2(a, c) * 180 / Math.PI;
-
-    double max = ws1;
-    max = Math.max(max, ws2);
-    max = Math.max(max, ws3);
-    max = Math.max(max, ws4);
-    if (max > 1) {
-      ws1 /= max;
-      ws2 /= max;
-      ws3 /= max;
-      ws4 /= max;
-    }
-
-    double fr_pwr = ws1;
-    double fl_pwr = ws2;
-    double bl_pwr = ws3;
-    double br_pwr = ws4;
+    // the rotation is scaled so the wheels furthest from the center reach full power
+    kinematics.toModuleStates(
+        fwd, str, rot / kinematics.getMaxModuleRadius(), wheelSpeeds, wheelAngles);
+    SwerveKinematics.desaturate(wheelSpeeds, 1.0);
 
-    double fr_angle = wa1;
-    double fl_angle = wa2;
-    double bl_angle = wa3;
-    double br_angle = wa4;
+    double fl_pwr = wheelSpeeds[0];
+    double fr_pwr = wheelSpeeds[1];
+    double bl_pwr = wheelSpeeds[2];
+    double br_pwr = wheelSpeeds[3];
 
-    // ws1..ws4 and wa1..wa4 are the wheel speeds and wheel angles for wheels 1 through 4
-    // which are front_right, front_left, rear_left, and rear_right, respectively.
+    double fl_angle = wheelAngles[0];
+    double fr_angle = wheelAngles[1];
+    double bl_angle = wheelAngles[2];
+    double br_angle = wheelAngles[3];
 
     InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "ChillySwerve/AB_DrivePwr/FL_pwr", fl_pwr);
     InputOutputComm.putDouble(InputOutputComm.LogTable.kMainLog, "ChillySwerve/AB_DrivePwr/FR_pwr", fr_pwr);
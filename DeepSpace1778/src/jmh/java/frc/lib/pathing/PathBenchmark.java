@@ -0,0 +1,81 @@
+package frc.lib.pathing;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the path lookups made every loop while following a path. The distance moves along the
+ * path between calls so that the lookups cannot be hoisted out of the loop, and so every segment
+ * of the path gets looked up.
+ *
+ * @author FRC 1778 Chill Out
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathBenchmark {
+
+  private Path path;
+  private CompiledPath compiledPath;
+  private double distance;
+
+  @Setup
+  public void setup() {
+    path =
+        new Path(
+            0,
+            100.0,
+            100.0,
+            180.0,
+            new PathSegment.Line(96, 210),
+            new PathSegment.ArcedTranslation(36, 72, 210),
+            new PathSegment.ArcedTranslation(36, 72, 150).getFlipped(),
+            new PathSegment.ArcedTranslation(60, 60, 150).getFlipped());
+    compiledPath = new CompiledPath(path);
+  }
+
+  private double nextDistance() {
+    distance += 0.37;
+    if (distance > path.getLength()) {
+      distance -= path.getLength();
+    }
+    return distance;
+  }
+
+  @Benchmark
+  public double angleAtDistance() {
+    return path.getAngleAtDistance(nextDistance());
+  }
+
+  @Benchmark
+  public double directionAtDistance() {
+    return path.getDirectionAtDistance(nextDistance());
+  }
+
+  @Benchmark
+  public double flippedAngleAtDistance() {
+    return path.getFlipped().getAngleAtDistance(nextDistance());
+  }
+
+  @Benchmark
+  public double compiledAngleAtDistance() {
+    return compiledPath.getAngleAtDistance(nextDistance());
+  }
+
+  @Benchmark
+  public double compiledDirectionAtDistance() {
+    return compiledPath.getDirectionAtDistance(nextDistance());
+  }
+}
@@ -0,0 +1,68 @@
+package frc.lib.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the utility methods called from the drive and elevator code every loop.
+ *
+ * @author FRC 1778 Chill Out
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimpleUtilBenchmark {
+
+  @Param({"4", "16"})
+  private int valueCount;
+
+  private double[] values;
+  private double[] scratch;
+  private double input;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(1778);
+    values = new double[valueCount];
+    for (int i = 0; i < valueCount; i++) {
+      values[i] = random.nextDouble() * 100.0;
+    }
+    scratch = new double[valueCount];
+  }
+
+  /**
+   * The method sorts the array it is given, so the values are copied into a preallocated array
+   * first. The copy is included in the time but does not allocate.
+   */
+  @Benchmark
+  public double meanWithoutLowestOutliers() {
+    System.arraycopy(values, 0, scratch, 0, valueCount);
+    return SimpleUtil.meanWithoutLowestOutliers(scratch, 1);
+  }
+
+  @Benchmark
+  public double getContinuousInRange() {
+    input += 13.7;
+    return SimpleUtil.getContinuousInRange(input, 360.0);
+  }
+
+  @Benchmark
+  public double limit() {
+    input += 0.13;
+    return SimpleUtil.limit(Math.sin(input), -0.5, 0.5);
+  }
+}
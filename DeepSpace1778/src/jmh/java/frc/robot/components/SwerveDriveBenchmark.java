@@ -0,0 +1,61 @@
+package frc.robot.components;
+
+import frc.lib.util.ModuleSignal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the swerve math run every loop while driving, without any hardware attached. The inputs
+ * change between calls so that none of the math can be hoisted out of the loop.
+ *
+ * @author FRC 1778 Chill Out
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SwerveDriveBenchmark {
+
+  private SwerveDrive swerveDrive;
+  private ModuleSignal[] signals = SwerveDrive.createModuleSignals();
+  private double time;
+
+  @Setup
+  public void setup() {
+    swerveDrive = SwerveDrive.getInstance(false);
+  }
+
+  @Benchmark
+  public List<ModuleSignal> calculateModuleSignals() {
+    time += 0.02;
+    return swerveDrive.calculateModuleSignals(
+        Math.cos(time), Math.sin(time), 0.5 * Math.sin(time * 0.3));
+  }
+
+  @Benchmark
+  public ModuleSignal[] calculateModuleSignalsInto() {
+    time += 0.02;
+    swerveDrive.calculateModuleSignals(
+        Math.cos(time), Math.sin(time), 0.5 * Math.sin(time * 0.3), signals);
+    return signals;
+  }
+
+  @Benchmark
+  public double targetRawAngle() {
+    time += 0.02;
+    return SwerveModule.getTargetRawAngle(
+        time * 97.0 % 720.0 - 360.0, 42.0, Math.sin(time) * 1000.0);
+  }
+}
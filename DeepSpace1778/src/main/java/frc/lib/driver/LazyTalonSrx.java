@@ -0,0 +1,83 @@
+package frc.lib.driver;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+/**
+ * A Talon SRX that remembers the last control mode, demand and inversion it was sent and skips
+ * sending them again when they have not changed. The Talon keeps running its last setpoint until
+ * it is told otherwise, so repeating it only costs CAN bandwidth and a JNI call every loop.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class LazyTalonSrx extends TalonSRX {
+
+  private ControlMode lastMode;
+  private double lastDemand0 = Double.NaN;
+  private DemandType lastDemandType;
+  private double lastDemand1 = Double.NaN;
+
+  private boolean invertedSent;
+  private boolean lastInverted;
+
+  private long sentWrites;
+  private long suppressedWrites;
+
+  public LazyTalonSrx(int deviceNumber) {
+    super(deviceNumber);
+  }
+
+  @Override
+  public void set(ControlMode mode, double outputValue) {
+    set(mode, outputValue, DemandType.Neutral, 0.0);
+  }
+
+  @Override
+  public void set(ControlMode mode, double demand0, DemandType demand1Type, double demand1) {
+    if (mode == lastMode
+        && demand0 == lastDemand0
+        && demand1Type == lastDemandType
+        && demand1 == lastDemand1) {
+      suppressedWrites++;
+      return;
+    }
+
+    lastMode = mode;
+    lastDemand0 = demand0;
+    lastDemandType = demand1Type;
+    lastDemand1 = demand1;
+    sentWrites++;
+    super.set(mode, demand0, demand1Type, demand1);
+  }
+
+  @Override
+  public void setInverted(boolean invert) {
+    if (invertedSent && invert == lastInverted) {
+      suppressedWrites++;
+      return;
+    }
+
+    invertedSent = true;
+    lastInverted = invert;
+    sentWrites++;
+    super.setInverted(invert);
+  }
+
+  /** Forgets what was last sent, so the next write always goes out, e.g. after a Talon resets. */
+  public void resetCache() {
+    lastMode = null;
+    lastDemand0 = Double.NaN;
+    lastDemandType = null;
+    lastDemand1 = Double.NaN;
+    invertedSent = false;
+  }
+
+  public long getSentWrites() {
+    return sentWrites;
+  }
+
+  public long getSuppressedWrites() {
+    return suppressedWrites;
+  }
+}
@@ -7,7 +7,6 @@ import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.VelocityMeasPeriod;
 import com.ctre.phoenix.motorcontrol.can.BaseMotorController;
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
 /**
  * This creates and sets most of the convenient settings for a Talon SRX. This includes feedback
@@ -82,18 +81,18 @@ public class TalonSrxFactory {
 
   private static final Configuration DEFAULT_CONFIGURATION = new Configuration();
 
-  public static TalonSRX createDefaultTalon(int id) {
+  public static LazyTalonSrx createDefaultTalon(int id) {
     return createTalon(id, DEFAULT_CONFIGURATION);
   }
 
-  public static TalonSRX createSlaveTalon(int id, BaseMotorController master) {
-    TalonSRX talon = createDefaultTalon(id);
+  public static LazyTalonSrx createSlaveTalon(int id, BaseMotorController master) {
+    LazyTalonSrx talon = createDefaultTalon(id);
     talon.follow(master);
     return talon;
   }
 
-  public static TalonSRX createTalon(int id, Configuration config) {
-    TalonSRX talon = new TalonSRX(id);
+  public static LazyTalonSrx createTalon(int id, Configuration config) {
+    LazyTalonSrx talon = new LazyTalonSrx(id);
 
     talon.clearStickyFaults(config.timeoutInMs);
     talon.configOpenloopRamp(config.openLoopRampTimeSeconds, config.timeoutInMs);
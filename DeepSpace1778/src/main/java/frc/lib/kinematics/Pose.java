@@ -0,0 +1,45 @@
+package frc.lib.kinematics;
+
+/**
+ * An immutable snapshot of where the robot is on the field, in inches forward and to the strafe
+ * side of where it was last reset, facing the given angle in degrees, at the given time in seconds.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public final class Pose {
+
+  public static final Pose ORIGIN = new Pose(0.0, 0.0, 0.0, 0.0);
+
+  private final double forward;
+  private final double strafe;
+  private final double angle;
+  private final double timestamp;
+
+  public Pose(double forward, double strafe, double angle, double timestamp) {
+    this.forward = forward;
+    this.strafe = strafe;
+    this.angle = angle;
+    this.timestamp = timestamp;
+  }
+
+  public double getForward() {
+    return forward;
+  }
+
+  public double getStrafe() {
+    return strafe;
+  }
+
+  public double getAngle() {
+    return angle;
+  }
+
+  public double getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Pose(%.2f, %.2f, %.2f at %.3f)", forward, strafe, angle, timestamp);
+  }
+}
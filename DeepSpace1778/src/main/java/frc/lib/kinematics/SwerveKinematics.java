@@ -0,0 +1,178 @@
+package frc.lib.kinematics;
+
+/**
+ * Converts between the motion of a swerve drive's chassis and the speed and direction of each of
+ * its modules, for any number of modules in any layout. Positions and directions are measured
+ * forward and to the strafe side of the center of rotation, with module angles in degrees from
+ * forward towards the strafe side. Rotation is in radians, and is positive when it turns the front
+ * of the robot towards the strafe side.
+ *
+ * <p>Both matrices are worked out once when the kinematics are created, and every method writes
+ * into arrays owned by the caller, so nothing is allocated while driving.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class SwerveKinematics {
+
+  private final int moduleCount;
+  private final double maxModuleRadius;
+
+  // Each module's forward and strafe velocity per unit of chassis rotation.
+  private final double[] rotationForward;
+  private final double[] rotationStrafe;
+
+  // The least-squares pseudoinverse of the inverse kinematics matrix, one row per chassis axis
+  // with the forward and strafe velocity of each module interleaved along it.
+  private final double[] forwardRow;
+  private final double[] strafeRow;
+  private final double[] rotationRow;
+
+  /**
+   * Creates the kinematics for modules at the given positions, each given as the distance forward
+   * and the distance to the strafe side of the center of rotation.
+   */
+  public SwerveKinematics(double[]... modulePositions) {
+    if (modulePositions.length < 2) {
+      throw new IllegalArgumentException("A swerve drive needs at least two modules");
+    }
+
+    moduleCount = modulePositions.length;
+    rotationForward = new double[moduleCount];
+    rotationStrafe = new double[moduleCount];
+
+    double maxRadius = 0.0;
+    double sumForward = 0.0;
+    double sumStrafe = 0.0;
+    double sumRadiusSquared = 0.0;
+    for (int i = 0; i < moduleCount; i++) {
+      double forwardPosition = modulePositions[i][0];
+      double strafePosition = modulePositions[i][1];
+
+      rotationForward[i] = -strafePosition;
+      rotationStrafe[i] = forwardPosition;
+
+      maxRadius = Math.max(maxRadius, Math.hypot(forwardPosition, strafePosition));
+      sumForward += forwardPosition;
+      sumStrafe += strafePosition;
+      sumRadiusSquared += (forwardPosition * forwardPosition) + (strafePosition * strafePosition);
+    }
+    maxModuleRadius = maxRadius;
+
+    // The inverse kinematics matrix A maps the chassis motion to every module's velocity, so the
+    // chassis motion that best fits the module velocities is (A^T A)^-1 A^T times them. A^T A is
+    // symmetric, so only its upper half and the matching cofactors are needed.
+    double a00 = moduleCount;
+    double a02 = -sumStrafe;
+    double a11 = moduleCount;
+    double a12 = sumForward;
+    double a22 = sumRadiusSquared;
+
+    double c00 = (a11 * a22) - (a12 * a12);
+    double c01 = a02 * a12;
+    double c02 = -a02 * a11;
+    double c11 = (a00 * a22) - (a02 * a02);
+    double c12 = -a00 * a12;
+    double c22 = a00 * a11;
+    double determinant = (a00 * c00) + (a02 * c02);
+    if (Math.abs(determinant) < 1e-9) {
+      throw new IllegalArgumentException("The modules must not all be at the same position");
+    }
+
+    double[][] inverse = {
+      {c00 / determinant, c01 / determinant, c02 / determinant},
+      {c01 / determinant, c11 / determinant, c12 / determinant},
+      {c02 / determinant, c12 / determinant, c22 / determinant}
+    };
+
+    forwardRow = new double[2 * moduleCount];
+    strafeRow = new double[2 * moduleCount];
+    rotationRow = new double[2 * moduleCount];
+    double[][] rows = {forwardRow, strafeRow, rotationRow};
+    for (int row = 0; row < 3; row++) {
+      for (int i = 0; i < moduleCount; i++) {
+        // The columns of A^T for this module are (1, 0, -strafe) and (0, 1, forward).
+        rows[row][2 * i] = inverse[row][0] + (inverse[row][2] * rotationForward[i]);
+        rows[row][(2 * i) + 1] = inverse[row][1] + (inverse[row][2] * rotationStrafe[i]);
+      }
+    }
+  }
+
+  public int getModuleCount() {
+    return moduleCount;
+  }
+
+  /**
+   * Returns the distance from the center of rotation to the furthest module. Dividing a rotation
+   * between -1 and 1 by this turns the robot so the furthest module moves at a speed of up to 1.
+   */
+  public double getMaxModuleRadius() {
+    return maxModuleRadius;
+  }
+
+  /**
+   * Calculates the speed and angle of every module needed for the given chassis motion. The speeds
+   * are not limited, so they should be desaturated before being sent to the motors.
+   */
+  public void toModuleStates(
+      double forward, double strafe, double rotation, double[] speeds, double[] angles) {
+    for (int i = 0; i < moduleCount; i++) {
+      speeds[i] = getModuleSpeed(i, forward, strafe, rotation);
+      angles[i] = getModuleAngle(i, forward, strafe, rotation);
+    }
+  }
+
+  /** Calculates the speed of one module needed for the given chassis motion. */
+  public double getModuleSpeed(int module, double forward, double strafe, double rotation) {
+    double moduleForward = forward + (rotation * rotationForward[module]);
+    double moduleStrafe = strafe + (rotation * rotationStrafe[module]);
+    return Math.sqrt((moduleForward * moduleForward) + (moduleStrafe * moduleStrafe));
+  }
+
+  /** Calculates the angle, in degrees, of one module needed for the given chassis motion. */
+  public double getModuleAngle(int module, double forward, double strafe, double rotation) {
+    double moduleForward = forward + (rotation * rotationForward[module]);
+    double moduleStrafe = strafe + (rotation * rotationStrafe[module]);
+    return Math.atan2(moduleStrafe, moduleForward) * 180 / Math.PI;
+  }
+
+  /**
+   * Calculates the chassis motion that best fits the measured speed and angle of every module, in
+   * the least-squares sense, and writes its forward, strafe and rotation into the chassis array.
+   */
+  public void toChassisMotion(double[] speeds, double[] angles, double[] chassis) {
+    double forward = 0.0;
+    double strafe = 0.0;
+    double rotation = 0.0;
+    for (int i = 0; i < moduleCount; i++) {
+      double angle = Math.toRadians(angles[i]);
+      double moduleForward = speeds[i] * Math.cos(angle);
+      double moduleStrafe = speeds[i] * Math.sin(angle);
+
+      forward += (forwardRow[2 * i] * moduleForward) + (forwardRow[(2 * i) + 1] * moduleStrafe);
+      strafe += (strafeRow[2 * i] * moduleForward) + (strafeRow[(2 * i) + 1] * moduleStrafe);
+      rotation += (rotationRow[2 * i] * moduleForward) + (rotationRow[(2 * i) + 1] * moduleStrafe);
+    }
+
+    chassis[0] = forward;
+    chassis[1] = strafe;
+    chassis[2] = rotation;
+  }
+
+  /**
+   * Scales every speed down by the same amount when any of them is faster than the maximum, so the
+   * modules keep moving in proportion to each other.
+   */
+  public static void desaturate(double[] speeds, double maxSpeed) {
+    double max = 0.0;
+    for (double speed : speeds) {
+      max = Math.max(max, Math.abs(speed));
+    }
+
+    if (max > maxSpeed) {
+      double scale = maxSpeed / max;
+      for (int i = 0; i < speeds.length; i++) {
+        speeds[i] *= scale;
+      }
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package frc.lib.kinematics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the robot's pose on the field from how far each swerve module has driven and which way it
+ * is pointed, with the heading taken from the gyro. The motion of the chassis between updates is
+ * the least-squares fit of every module's motion, so a module that slips is outvoted by the others.
+ *
+ * <p>Only one thread may call {@link #update}. The pose is published as an immutable {@link Pose}
+ * after every update, so any number of other threads can read it without locking.
+ *
+ * <p>Resetting the encoders or zeroing the gyro makes its readings jump, so the odometry has to be
+ * told about it with {@link #resetDistances} or {@link #resetAngle} before it happens. A reset
+ * takes a status frame or two to show up in the readings, so until it does, each reading is taken
+ * to be either from before the reset or after it, whichever means less motion. Any other change
+ * in the readings, however large, is real motion.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class SwerveOdometry {
+
+  private final SwerveKinematics kinematics;
+
+  private final double[] lastDistances;
+  private final double[] steps;
+  private final double[] chassis = new double[3];
+  private boolean initialized;
+  private double lastAngle;
+  private double angleOffset;
+
+  private final AtomicReference<Pose> pendingReset = new AtomicReference<>();
+  private volatile Pose pose = Pose.ORIGIN;
+
+  private final AtomicBoolean distanceResetRequested = new AtomicBoolean();
+  private final AtomicBoolean angleResetRequested = new AtomicBoolean();
+  // Which modules, and whether the gyro, have been reset but not yet read as reset.
+  private final boolean[] awaitingDistanceReset;
+  private boolean awaitingAngleReset;
+
+  /** Creates odometry for modules laid out as given. */
+  public SwerveOdometry(SwerveKinematics kinematics) {
+    this.kinematics = kinematics;
+    lastDistances = new double[kinematics.getModuleCount()];
+    steps = new double[kinematics.getModuleCount()];
+    awaitingDistanceReset = new boolean[kinematics.getModuleCount()];
+  }
+
+  /** Returns the pose from the latest update. */
+  public Pose getPose() {
+    return pose;
+  }
+
+  /**
+   * Moves the robot to the given pose. This can be called from any thread, and takes effect
+   * straight away for readers and from the next update for the odometry itself.
+   */
+  public void reset(Pose newPose) {
+    pendingReset.set(newPose);
+    pose = newPose;
+  }
+
+  /**
+   * Tells the odometry that every module's distance is about to be reset to zero, so the jump is
+   * not counted as motion. This can be called from any thread, and must be called before the reset.
+   */
+  public void resetDistances() {
+    distanceResetRequested.set(true);
+  }
+
+  /**
+   * Tells the odometry that the gyro is about to be zeroed, so the jump is not counted as a turn
+   * and the pose keeps its heading. This can be called from any thread, and must be called before
+   * the gyro is zeroed.
+   */
+  public void resetAngle() {
+    angleResetRequested.set(true);
+  }
+
+  /**
+   * Moves the pose by how far each module has driven since the last update. Distances are in inches
+   * and directions are the way each module drives when its distance increases, in degrees relative
+   * to the robot. The angle is the gyro's heading in degrees, which only has to match the pose's
+   * angle up to a constant offset.
+   */
+  public void update(double timestamp, double angle, double[] distances, double[] directions) {
+    Pose current = pose;
+    Pose reset = pendingReset.getAndSet(null);
+    if (reset != null) {
+      current = reset;
+      angleOffset = reset.getAngle() - angle;
+    }
+
+    if (distanceResetRequested.getAndSet(false)) {
+      Arrays.fill(awaitingDistanceReset, true);
+    }
+    if (angleResetRequested.getAndSet(false)) {
+      awaitingAngleReset = true;
+    }
+
+    double forward = current.getForward();
+    double strafe = current.getStrafe();
+    if (initialized) {
+      for (int i = 0; i < steps.length; i++) {
+        steps[i] = distances[i] - lastDistances[i];
+        if (awaitingDistanceReset[i] && Math.abs(distances[i]) <= Math.abs(steps[i])) {
+          steps[i] = distances[i];
+          awaitingDistanceReset[i] = false;
+        }
+      }
+      kinematics.toChassisMotion(steps, directions, chassis);
+
+      double turn = angle - lastAngle;
+      if (awaitingAngleReset && Math.abs(angle) <= Math.abs(turn)) {
+        // The gyro now counts from zero where it used to read the last angle.
+        angleOffset += lastAngle;
+        turn = angle;
+        awaitingAngleReset = false;
+      }
+
+      // The robot turned steadily between updates, so its average heading is halfway between.
+      double heading = Math.toRadians(angle - (turn / 2.0) + angleOffset);
+      forward += (chassis[0] * Math.cos(heading)) - (chassis[1] * Math.sin(heading));
+      strafe += (chassis[0] * Math.sin(heading)) + (chassis[1] * Math.cos(heading));
+    }
+
+    System.arraycopy(distances, 0, lastDistances, 0, lastDistances.length);
+    lastAngle = angle;
+    initialized = true;
+
+    pose = new Pose(forward, strafe, angle + angleOffset, timestamp);
+  }
+}
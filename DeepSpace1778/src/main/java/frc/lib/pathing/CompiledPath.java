@@ -0,0 +1,226 @@
+package frc.lib.pathing;
+
+import frc.lib.util.SimpleUtil;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * A densely sampled form of a {@link Path}. The direction and angle of the path, along with how
+ * quickly each changes, are sampled at a fixed arc length step into primitive arrays, so each
+ * lookup while following a path is a single linear interpolation rather than a walk through the
+ * chain of PathSegments.
+ *
+ * <p>The direction is also integrated into the position of each sample, in inches forward and to
+ * the strafe side of where the path starts, so that a {@link PathTracker} can find where the robot
+ * is along the path and how far it is off of it.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class CompiledPath {
+
+  public static final double DEFAULT_STEP = 0.5;
+
+  private final double length;
+  private final double step;
+  private final double[] directions;
+  private final double[] angles;
+  private final double[] curvatures;
+  private final double[] angleRates;
+  private final double[] forwardPositions;
+  private final double[] strafePositions;
+
+  // Every table other than the forward positions is multiplied by this, so that a mirrored path can
+  // share the tables of the path it mirrors. The angles are stored unwrapped, so negating them
+  // mirrors them as well.
+  private final double mirror;
+  private final CompiledPath flipped;
+
+  public CompiledPath(Path path) {
+    this(path, DEFAULT_STEP);
+  }
+
+  public CompiledPath(Path path, double maximumStep) {
+    length = path.getLength();
+
+    int sampleCount = Math.max(2, (int) Math.ceil(length / maximumStep) + 1);
+    step = length / (sampleCount - 1);
+
+    directions = new double[sampleCount];
+    angles = new double[sampleCount];
+    curvatures = new double[sampleCount];
+    angleRates = new double[sampleCount];
+    forwardPositions = new double[sampleCount];
+    strafePositions = new double[sampleCount];
+
+    for (int i = 0; i < sampleCount; i++) {
+      double distance = i * step;
+      directions[i] = path.getDirectionAtDistance(distance);
+
+      // Angles are stored unwrapped so that interpolating across 0/360 degrees stays continuous.
+      double angle = path.getAngleAtDistance(distance);
+      angles[i] =
+          i == 0
+              ? angle
+              : angles[i - 1] + SimpleUtil.getContinuousInRange(angle - angles[i - 1], 360);
+    }
+
+    for (int i = 0; i < sampleCount; i++) {
+      int previous = Math.max(0, i - 1);
+      int next = Math.min(sampleCount - 1, i + 1);
+      curvatures[i] = (directions[next] - directions[previous]) / ((next - previous) * step);
+      angleRates[i] = (angles[next] - angles[previous]) / ((next - previous) * step);
+    }
+
+    for (int i = 1; i < sampleCount; i++) {
+      double direction = Math.toRadians((directions[i - 1] + directions[i]) / 2.0);
+      forwardPositions[i] = forwardPositions[i - 1] + (Math.cos(direction) * step);
+      strafePositions[i] = strafePositions[i - 1] + (Math.sin(direction) * step);
+    }
+
+    mirror = 1.0;
+    flipped = new CompiledPath(this);
+  }
+
+  private CompiledPath(
+      double length,
+      double step,
+      double[] directions,
+      double[] angles,
+      double[] curvatures,
+      double[] angleRates,
+      double[] forwardPositions,
+      double[] strafePositions) {
+    this.length = length;
+    this.step = step;
+    this.directions = directions;
+    this.angles = angles;
+    this.curvatures = curvatures;
+    this.angleRates = angleRates;
+    this.forwardPositions = forwardPositions;
+    this.strafePositions = strafePositions;
+
+    mirror = 1.0;
+    flipped = new CompiledPath(this);
+  }
+
+  /** Creates a view of the path mirrored across its starting direction, sharing all of its data. */
+  private CompiledPath(CompiledPath path) {
+    length = path.length;
+    step = path.step;
+    directions = path.directions;
+    angles = path.angles;
+    curvatures = path.curvatures;
+    angleRates = path.angleRates;
+    forwardPositions = path.forwardPositions;
+    strafePositions = path.strafePositions;
+
+    mirror = -path.mirror;
+    flipped = path;
+  }
+
+  /** Writes the sampled tables so that they can later be read back with {@link #read}. */
+  public void write(DataOutput output) throws IOException {
+    output.writeInt(directions.length);
+    output.writeDouble(length);
+    output.writeDouble(step);
+    for (double[] samples :
+        new double[][] {directions, angles, curvatures, angleRates, strafePositions}) {
+      for (double sample : samples) {
+        output.writeDouble(mirror * sample);
+      }
+    }
+    for (double sample : forwardPositions) {
+      output.writeDouble(sample);
+    }
+  }
+
+  /**
+   * Reads a path written by {@link #write} from the buffer's current position, leaving the position
+   * just after it. Each table is copied out of the buffer in bulk.
+   */
+  public static CompiledPath read(ByteBuffer buffer) {
+    int sampleCount = buffer.getInt();
+    double length = buffer.getDouble();
+    double step = buffer.getDouble();
+
+    DoubleBuffer samples = buffer.asDoubleBuffer();
+    double[][] tables = new double[6][sampleCount];
+    for (double[] table : tables) {
+      samples.get(table);
+    }
+    buffer.position(buffer.position() + (tables.length * sampleCount * Double.BYTES));
+
+    return new CompiledPath(
+        length, step, tables[0], tables[1], tables[2], tables[3], tables[5], tables[4]);
+  }
+
+  /**
+   * Returns this path mirrored across its starting direction. The mirrored path is a view over the
+   * same tables, so it costs nothing to create and is always the same instance.
+   */
+  public CompiledPath getFlipped() {
+    return flipped;
+  }
+
+  public double getLength() {
+    return length;
+  }
+
+  public double getStep() {
+    return step;
+  }
+
+  public int getSampleCount() {
+    return directions.length;
+  }
+
+  public double getDirectionAtDistance(double distance) {
+    return mirror * interpolate(directions, distance);
+  }
+
+  public double getAngleAtDistance(double distance) {
+    return SimpleUtil.flooredModulo(mirror * interpolate(angles, distance), 360.0);
+  }
+
+  /**
+   * Returns the rate at which the direction of travel changes, in degrees per inch, at the given
+   * distance along the path.
+   */
+  public double getCurvatureAtDistance(double distance) {
+    return mirror * interpolate(curvatures, distance);
+  }
+
+  /**
+   * Returns the rate at which the robot's angle changes, in degrees per inch, at the given distance
+   * along the path.
+   */
+  public double getAngleRateAtDistance(double distance) {
+    return mirror * interpolate(angleRates, distance);
+  }
+
+  /** Returns how far forward of the start of the path it is at the given distance along it. */
+  public double getForwardPositionAtDistance(double distance) {
+    return interpolate(forwardPositions, distance);
+  }
+
+  /** Returns how far to the strafe side of the start of the path it is at the given distance. */
+  public double getStrafePositionAtDistance(double distance) {
+    return mirror * interpolate(strafePositions, distance);
+  }
+
+  double getForwardPosition(int sample) {
+    return forwardPositions[sample];
+  }
+
+  double getStrafePosition(int sample) {
+    return mirror * strafePositions[sample];
+  }
+
+  private double interpolate(double[] samples, double distance) {
+    double position = Math.max(0.0, Math.min(distance / step, samples.length - 1));
+    int index = Math.min((int) position, samples.length - 2);
+    return samples[index] + (samples[index + 1] - samples[index]) * (position - index);
+  }
+}
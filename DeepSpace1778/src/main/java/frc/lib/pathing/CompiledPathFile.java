@@ -0,0 +1,62 @@
+package frc.lib.pathing;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores a set of named {@link CompiledPath}s in a single binary file. Paths can then be compiled
+ * when the code is built and deployed alongside it, so the robot only has to map the file into
+ * memory and copy the tables out instead of sampling every path again while it boots.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class CompiledPathFile {
+
+  private static final int MAGIC_NUMBER = 0x31373738;
+  private static final int VERSION = 2;
+
+  public static void write(File file, Map<String, CompiledPath> paths) throws IOException {
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      output.writeInt(MAGIC_NUMBER);
+      output.writeInt(VERSION);
+      output.writeInt(paths.size());
+
+      for (Map.Entry<String, CompiledPath> entry : paths.entrySet()) {
+        byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        output.writeInt(name.length);
+        output.write(name);
+        entry.getValue().write(output);
+      }
+    }
+  }
+
+  public static Map<String, CompiledPath> read(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != VERSION) {
+        throw new IOException(file + " is not a compiled path file of version " + VERSION);
+      }
+
+      int pathCount = buffer.getInt();
+      Map<String, CompiledPath> paths = new LinkedHashMap<>(pathCount * 2);
+      for (int i = 0; i < pathCount; i++) {
+        byte[] name = new byte[buffer.getInt()];
+        buffer.get(name);
+        paths.put(new String(name, StandardCharsets.UTF_8), CompiledPath.read(buffer));
+      }
+
+      return paths;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package frc.lib.pathing;
+
+/**
+ * A time parameterized motion profile along the length of a {@link Path}. The position, velocity
+ * and acceleration setpoints are generated once into a table with one entry per time step, so a
+ * follower can look up its feedforward each loop and an auto mode can know exactly how long a path
+ * will take to drive.
+ *
+ * <p>The profile is trapezoidal by default. When a maximum jerk is given, the acceleration ramps up
+ * and down at that jerk instead of stepping, which makes a seven segment S-curve: ramp up, hold,
+ * ramp down, cruise, and the same mirrored to stop. On a path too short to reach the maximum
+ * acceleration or velocity with those ramps, the peak acceleration and velocity are lowered until
+ * they fit, so the jerk never goes over the maximum. Each segment is integrated exactly, so the
+ * table holds the exact setpoints rather than approximations of them.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class MotionProfile {
+
+  public static final double DEFAULT_TIME_STEP = 1.0 / 50.0;
+
+  private static final int SEGMENT_COUNT = 7;
+
+  private final double length;
+  private final double duration;
+
+  // The time each segment starts, and the state of the profile at that time. The jerk is constant
+  // through each segment.
+  private final double[] startTimes = new double[SEGMENT_COUNT];
+  private final double[] startPositions = new double[SEGMENT_COUNT];
+  private final double[] startVelocities = new double[SEGMENT_COUNT];
+  private final double[] startAccelerations = new double[SEGMENT_COUNT];
+  private final double[] jerks = new double[SEGMENT_COUNT];
+
+  private final double timeStep;
+  private final double[] positions;
+  private final double[] velocities;
+  private final double[] accelerations;
+
+  public MotionProfile(Path path) {
+    this(path, DEFAULT_TIME_STEP, 0.0);
+  }
+
+  public MotionProfile(Path path, double timeStep, double maxJerk) {
+    this(path.getLength(), path.getMaxVelocity(), path.getMaxAcceleration(), maxJerk, timeStep);
+  }
+
+  /**
+   * Creates a profile that drives the length from rest to rest. A maximum jerk of zero leaves the
+   * acceleration unlimited in how fast it changes, which gives a trapezoidal profile.
+   *
+   * @throws IllegalArgumentException if the velocity, acceleration or time step is not positive,
+   *     or the length or jerk is negative
+   */
+  public MotionProfile(
+      double length, double maxVelocity, double maxAcceleration, double maxJerk, double timeStep) {
+    if (!(maxVelocity > 0.0) || !(maxAcceleration > 0.0) || !(timeStep > 0.0)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Velocity %f, acceleration %f and time step %f must all be positive",
+              maxVelocity, maxAcceleration, timeStep));
+    }
+    if (!(length >= 0.0) || !(maxJerk >= 0.0)) {
+      throw new IllegalArgumentException(
+          String.format("Length %f and jerk %f must not be negative", length, maxJerk));
+    }
+
+    this.length = length;
+    this.timeStep = timeStep;
+
+    // How long it takes to ramp up to the maximum acceleration, or zero when it can step to it.
+    double rampTime = maxJerk > 0.0 ? maxAcceleration / maxJerk : 0.0;
+
+    // The distance taken to reach a velocity is that velocity times half the time it takes, so the
+    // fastest the whole length can be driven with both ramps is where v^2 / a + v * rampTime equals
+    // the length. If that is too slow to hold the maximum acceleration, it only ramps up and
+    // straight back down, and 2 * v * sqrt(v / j) equals the length instead.
+    double fittingVelocity =
+        maxAcceleration
+            * (Math.sqrt((rampTime * rampTime) + (4.0 * length / maxAcceleration)) - rampTime)
+            / 2.0;
+    if (maxJerk > 0.0 && fittingVelocity * maxJerk < maxAcceleration * maxAcceleration) {
+      fittingVelocity = Math.cbrt(length * length * maxJerk / 4.0);
+    }
+    double peakVelocity = Math.min(maxVelocity, fittingVelocity);
+
+    double peakAcceleration;
+    double jerkTime;
+    if (maxJerk == 0.0 || peakVelocity * maxJerk >= maxAcceleration * maxAcceleration) {
+      peakAcceleration = maxAcceleration;
+      jerkTime = rampTime;
+    } else {
+      peakAcceleration = Math.sqrt(peakVelocity * maxJerk);
+      jerkTime = peakAcceleration / maxJerk;
+    }
+    double holdTime =
+        peakVelocity > 0.0 ? Math.max(0.0, (peakVelocity / peakAcceleration) - jerkTime) : 0.0;
+    double accelerationTime = (2.0 * jerkTime) + holdTime;
+    double cruiseTime =
+        peakVelocity > 0.0 ? Math.max(0.0, (length / peakVelocity) - accelerationTime) : 0.0;
+
+    double[] durations = {jerkTime, holdTime, jerkTime, cruiseTime, jerkTime, holdTime, jerkTime};
+    // Without a jerk limit the ramps take no time, so the acceleration at the start of each
+    // segment is set rather than integrated.
+    double[] segmentAccelerations = {
+      0.0, peakAcceleration, peakAcceleration, 0.0, 0.0, -peakAcceleration, -peakAcceleration
+    };
+    double[] segmentJerks = {maxJerk, 0.0, -maxJerk, 0.0, -maxJerk, 0.0, maxJerk};
+
+    double time = 0.0;
+    double position = 0.0;
+    double velocity = 0.0;
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      startTimes[i] = time;
+      startPositions[i] = position;
+      startVelocities[i] = velocity;
+      startAccelerations[i] = segmentAccelerations[i];
+      jerks[i] = segmentJerks[i];
+
+      position = getPosition(i, durations[i]);
+      velocity = getVelocity(i, durations[i]);
+      time += durations[i];
+    }
+    duration = time;
+
+    int sampleCount = Math.max(2, (int) Math.ceil(duration / timeStep) + 1);
+    positions = new double[sampleCount];
+    velocities = new double[sampleCount];
+    accelerations = new double[sampleCount];
+
+    for (int i = 0; i < sampleCount; i++) {
+      double sampleTime = i * timeStep;
+      if (sampleTime >= duration) {
+        positions[i] = length;
+        continue;
+      }
+
+      int segment = getSegment(sampleTime);
+      double segmentTime = sampleTime - startTimes[segment];
+      positions[i] = getPosition(segment, segmentTime);
+      velocities[i] = getVelocity(segment, segmentTime);
+      accelerations[i] = startAccelerations[segment] + (jerks[segment] * segmentTime);
+    }
+  }
+
+  public double getDuration() {
+    return duration;
+  }
+
+  public double getLength() {
+    return length;
+  }
+
+  public double getTimeStep() {
+    return timeStep;
+  }
+
+  public int getSampleCount() {
+    return positions.length;
+  }
+
+  public double getPositionAtTime(double time) {
+    return interpolate(positions, time);
+  }
+
+  public double getVelocityAtTime(double time) {
+    return interpolate(velocities, time);
+  }
+
+  public double getAccelerationAtTime(double time) {
+    return interpolate(accelerations, time);
+  }
+
+  private double interpolate(double[] samples, double time) {
+    double position = Math.max(0.0, Math.min(time / timeStep, samples.length - 1));
+    int index = Math.min((int) position, samples.length - 2);
+    return samples[index] + (samples[index + 1] - samples[index]) * (position - index);
+  }
+
+  /** Returns the last segment that starts at or before the time. */
+  private int getSegment(double time) {
+    int segment = 0;
+    while (segment < SEGMENT_COUNT - 1 && startTimes[segment + 1] <= time) {
+      segment++;
+    }
+    return segment;
+  }
+
+  private double getVelocity(int segment, double segmentTime) {
+    return startVelocities[segment]
+        + (startAccelerations[segment] * segmentTime)
+        + (jerks[segment] * segmentTime * segmentTime / 2.0);
+  }
+
+  private double getPosition(int segment, double segmentTime) {
+    return startPositions[segment]
+        + (startVelocities[segment] * segmentTime)
+        + (startAccelerations[segment] * segmentTime * segmentTime / 2.0)
+        + (jerks[segment] * segmentTime * segmentTime * segmentTime / 6.0);
+  }
+}
@@ -10,13 +10,20 @@ import frc.lib.util.SimpleUtil;
  */
 public class Path extends PathSegment {
 
-  private final double initialDirection;
   private final PathSegment[] segments;
+  private final double[] segmentDistances;
+  private final double[] segmentDirections;
+  private final double[] segmentStartAngles;
   private final double length;
   private final double endAngle;
   private final double maxAcceleration;
   private final double maxVelocity;
 
+  // Directions and angles are multiplied by this, so that a mirrored path can share every table
+  // with the path it mirrors.
+  private final double mirror;
+  private final Path flipped;
+
   public Path(double initialDirection, double startAngle, PathSegment... segments) {
     this(initialDirection, 0, 0, startAngle, segments);
   }
@@ -27,56 +34,68 @@ public class Path extends PathSegment {
       double maxVelocity,
       double startAngle,
       PathSegment... segments) {
-    this.initialDirection = initialDirection;
-    this.segments = segments;
+    this.segments = segments.clone();
     this.maxAcceleration = maxAcceleration;
     this.maxVelocity = maxVelocity;
 
-    double totalLength = 0;
-    for (PathSegment segment : segments) {
-      totalLength += segment.getLength();
+    // Cumulative tables are built once here so that lookups during following only need a binary
+    // search rather than re-summing every previous segment each loop.
+    segmentDistances = new double[segments.length + 1];
+    segmentDirections = new double[segments.length];
+    segmentStartAngles = new double[segments.length];
+    double direction = initialDirection;
+    double angle = startAngle;
+    for (int i = 0; i < segments.length; i++) {
+      segmentDistances[i + 1] = segmentDistances[i] + segments[i].getLength();
+      segmentDirections[i] = direction;
+      segmentStartAngles[i] = angle;
+      direction += segments[i].getDirection(1);
+      angle = segments[i].getEndAngle();
     }
-    this.length = totalLength;
+    this.length = segmentDistances[segments.length];
     this.endAngle = segments[segments.length - 1].getEndAngle();
-    this.startAngle = startAngle;
 
-    segments[0].startAngle = startAngle;
-    for (int i = 1; i < segments.length; i++) {
-      segments[i].startAngle = segments[i - 1].getEndAngle();
-    }
+    mirror = 1.0;
+    flipped = new Path(this);
+  }
+
+  /** Creates a view of the path mirrored across its starting direction, sharing all of its data. */
+  private Path(Path path) {
+    segments = path.segments;
+    segmentDistances = path.segmentDistances;
+    segmentDirections = path.segmentDirections;
+    segmentStartAngles = path.segmentStartAngles;
+    length = path.length;
+    endAngle = path.endAngle;
+    maxAcceleration = path.maxAcceleration;
+    maxVelocity = path.maxVelocity;
+
+    mirror = -path.mirror;
+    flipped = path;
   }
 
   private double getDistanceAtSegment(int segment) {
-    double distance = 0;
-    for (int i = 0; i < segment; i++) {
-      distance += segments[i].getLength();
-    }
-    return distance;
+    return segmentDistances[segment];
   }
 
   private double getDirectionAtSegment(int segment) {
-    double direction = initialDirection;
-    for (int i = 0; i < segment; i++) {
-      direction += segments[i].getDirection(1);
-    }
-    return direction;
+    return segmentDirections[segment];
   }
 
   private int getSegmentAtDistance(double distance) {
-    if (distance < getDistanceAtSegment(1)) {
-      return 0;
-    }
-
-    for (int i = 0; i < segments.length - 1; i++) {
-      double lowerBound = getDistanceAtSegment(i);
-      double upperBound = getDistanceAtSegment(i + 1);
-
-      if (lowerBound < distance && distance <= upperBound) {
-        return i;
+    int lower = 0;
+    int upper = segments.length - 1;
+
+    while (lower < upper) {
+      int middle = (lower + upper) >>> 1;
+      if (distance <= segmentDistances[middle + 1]) {
+        upper = middle;
+      } else {
+        lower = middle + 1;
       }
     }
 
-    return segments.length - 1;
+    return lower;
   }
 
   public double getDuration() {
@@ -87,6 +106,14 @@ public class Path extends PathSegment {
     }
   }
 
+  public double getMaxAcceleration() {
+    return maxAcceleration;
+  }
+
+  public double getMaxVelocity() {
+    return maxVelocity;
+  }
+
   @Override
   public double getLength() {
     return length;
@@ -94,7 +121,7 @@ public class Path extends PathSegment {
 
   @Override
   public double getEndAngle() {
-    return endAngle;
+    return SimpleUtil.flooredModulo(mirror * endAngle, 360.0);
   }
 
   public double getAngle(double percentage) {
@@ -105,14 +132,15 @@ public class Path extends PathSegment {
     int currentSegment = getSegmentAtDistance(distance);
 
     double deltaAngle =
-        segments[currentSegment].getEndAngle() - segments[currentSegment].startAngle;
-    deltaAngle = Math.abs(deltaAngle) > 180 ? deltaAngle - 360 : deltaAngle;
+        SimpleUtil.getContinuousInRange(
+            segments[currentSegment].getEndAngle() - segmentStartAngles[currentSegment], 360.0);
 
     return SimpleUtil.flooredModulo(
-        (deltaAngle
-                * (distance - getDistanceAtSegment(currentSegment))
-                / segments[currentSegment].getLength())
-            + segments[currentSegment].startAngle,
+        mirror
+            * ((deltaAngle
+                    * (distance - getDistanceAtSegment(currentSegment))
+                    / segments[currentSegment].getLength())
+                + segmentStartAngles[currentSegment]),
         360.0);
   }
 
@@ -128,21 +156,17 @@ public class Path extends PathSegment {
     double percentageOfSegment =
         (distance - getDistanceAtSegment(currentSegment)) / segments[currentSegment].getLength();
 
-    return getDirectionAtSegment(currentSegment)
-        + segments[currentSegment].getDirection(percentageOfSegment);
+    return mirror
+        * (getDirectionAtSegment(currentSegment)
+            + segments[currentSegment].getDirection(percentageOfSegment));
   }
 
+  /**
+   * Returns this path mirrored across its starting direction. The mirrored path is a view over the
+   * same data, so it costs nothing to create and is always the same instance.
+   */
   @Override
   public Path getFlipped() {
-    PathSegment[] flippedSegments = new PathSegment[segments.length];
-    for (int i = 0; i < segments.length; i++) {
-      flippedSegments[i] = segments[i].getFlipped();
-    }
-    return new Path(
-        -initialDirection,
-        this.maxAcceleration,
-        this.maxVelocity,
-        (360 - this.startAngle) % 360.0,
-        flippedSegments);
+    return flipped;
   }
 }
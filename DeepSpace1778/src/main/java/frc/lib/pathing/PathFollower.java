@@ -0,0 +1,87 @@
+package frc.lib.pathing;
+
+/**
+ * Works out which way a swerve drive should move to follow a {@link CompiledPath}. Each update
+ * finds the nearest point on the path, takes the path's direction there, and turns it back towards
+ * the path in proportion to how far the robot has drifted off it. The direction is returned
+ * relative to the robot, so it can be handed straight to the drive.
+ *
+ * <p>This only does arithmetic, so the same follower drives the robot and the auto simulation.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class PathFollower {
+
+  private final CompiledPath path;
+  private final PathTracker tracker;
+  private final double crossTrackGain;
+  private final double maxCorrection;
+
+  private double forward;
+  private double strafe;
+  private double targetAngle;
+
+  /**
+   * Creates a follower that turns the path's direction by the gain, in degrees for each inch off
+   * the path, up to the maximum correction in degrees.
+   */
+  public PathFollower(CompiledPath path, double crossTrackGain, double maxCorrection) {
+    this.path = path;
+    this.crossTrackGain = crossTrackGain;
+    this.maxCorrection = maxCorrection;
+    tracker = new PathTracker(path);
+  }
+
+  public void reset() {
+    tracker.reset();
+    forward = 0.0;
+    strafe = 0.0;
+    targetAngle = path.getAngleAtDistance(0.0);
+  }
+
+  /**
+   * Updates the direction to drive from the robot's position, in inches from where the path
+   * started, and its heading in degrees. Returns the distance along the path of the nearest point.
+   */
+  public double update(double forwardPosition, double strafePosition, double angle) {
+    double distance = tracker.update(forwardPosition, strafePosition);
+
+    double correction =
+        Math.max(
+            -maxCorrection,
+            Math.min(crossTrackGain * tracker.getCrossTrackError(), maxCorrection));
+    double pathDirection = Math.toRadians(path.getDirectionAtDistance(distance) - correction);
+    targetAngle = path.getAngleAtDistance(distance);
+
+    double fieldForward = Math.cos(pathDirection);
+    double fieldStrafe = Math.sin(pathDirection);
+    double angleRadians = Math.toRadians(angle);
+    forward = (fieldForward * Math.cos(angleRadians)) + (fieldStrafe * Math.sin(angleRadians));
+    strafe = (-fieldForward * Math.sin(angleRadians)) + (fieldStrafe * Math.cos(angleRadians));
+
+    return distance;
+  }
+
+  /** Returns how much of the drive should go forward, relative to the robot. */
+  public double getForward() {
+    return forward;
+  }
+
+  /** Returns how much of the drive should go to the strafe side, relative to the robot. */
+  public double getStrafe() {
+    return strafe;
+  }
+
+  /** Returns the heading, in degrees, the robot should face at the nearest point on the path. */
+  public double getTargetAngle() {
+    return targetAngle;
+  }
+
+  public double getCrossTrackError() {
+    return tracker.getCrossTrackError();
+  }
+
+  public CompiledPath getPath() {
+    return path;
+  }
+}
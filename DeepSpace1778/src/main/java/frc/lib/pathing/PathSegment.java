@@ -1,8 +1,8 @@
 package frc.lib.pathing;
 
-public abstract class PathSegment {
+import frc.lib.util.SimpleUtil;
 
-  public double startAngle;
+public abstract class PathSegment {
 
   public abstract double getDirection(double percentage);
 
@@ -44,9 +44,7 @@ public abstract class PathSegment {
 
     @Override
     public PathSegment getFlipped() {
-      PathSegment flipped = new RadialArc(length, -direction, (360 - endAngle) % 360.0);
-      flipped.startAngle = (360 - startAngle) % 360.0;
-      return flipped;
+      return new RadialArc(length, -direction, (360 - endAngle) % 360.0);
     }
   }
 
@@ -81,9 +79,7 @@ public abstract class PathSegment {
 
     @Override
     public PathSegment getFlipped() {
-      PathSegment flipped = new RadialArc(length, -direction, (360 - endAngle) % 360.0);
-      flipped.startAngle = (360 - startAngle) % 360.0;
-      return flipped;
+      return new RadialArc(length, -direction, (360 - endAngle) % 360.0);
     }
   }
 
@@ -113,9 +109,162 @@ public abstract class PathSegment {
 
     @Override
     public PathSegment getFlipped() {
-      PathSegment flipped = new Line(length, (360 - endAngle) % 360.0);
-      flipped.startAngle = (360 - startAngle) % 360.0;
-      return flipped;
+      return new Line(length, (360 - endAngle) % 360.0);
+    }
+  }
+
+  /**
+   * A quintic Hermite spline from the start of the segment to a point translated forward and to
+   * the side of it, leaving in the segment's starting direction and arriving in the given end
+   * direction with no curvature at either end. The direction is tabulated at even steps of arc
+   * length when the segment is created, with the arc length integrated by Gauss-Legendre
+   * quadrature, so each lookup is a single linear interpolation.
+   */
+  public static final class QuinticSpline extends PathSegment {
+    private static final double[] GAUSS_NODES = {
+      -0.9061798459386640, -0.5384693101056831, 0.0, 0.5384693101056831, 0.9061798459386640
+    };
+    private static final double[] GAUSS_WEIGHTS = {
+      0.2369268850561891, 0.4786286704993665, 0.5688888888888889, 0.4786286704993665,
+      0.2369268850561891
+    };
+    private static final int QUADRATURE_INTERVALS = 64;
+    private static final double SAMPLES_PER_INCH = 1.0;
+
+    private final double forwardTranslation;
+    private final double strafeTranslation;
+    private final double endDirection;
+    private final double endAngle;
+    private final double length;
+    private final double[] directions;
+
+    // Coefficients of the spline's derivative, from the constant term up to the fourth power.
+    private final double[] forwardDerivative;
+    private final double[] strafeDerivative;
+
+    public QuinticSpline(
+        double forwardTranslation, double strafeTranslation, double endDirection, double endAngle) {
+      this.forwardTranslation = forwardTranslation;
+      this.strafeTranslation = strafeTranslation;
+      this.endDirection = endDirection;
+      this.endAngle = endAngle;
+
+      double tangentLength = Math.hypot(forwardTranslation, strafeTranslation);
+      double endForwardTangent = tangentLength * Math.cos(Math.toRadians(endDirection));
+      double endStrafeTangent = tangentLength * Math.sin(Math.toRadians(endDirection));
+      forwardDerivative =
+          getDerivativeCoefficients(tangentLength, endForwardTangent, forwardTranslation);
+      strafeDerivative = getDerivativeCoefficients(0.0, endStrafeTangent, strafeTranslation);
+
+      double[] intervalLengths = new double[QUADRATURE_INTERVALS + 1];
+      for (int i = 0; i < QUADRATURE_INTERVALS; i++) {
+        intervalLengths[i + 1] =
+            intervalLengths[i]
+                + getArcLength((double) i / QUADRATURE_INTERVALS, (i + 1.0) / QUADRATURE_INTERVALS);
+      }
+      length = intervalLengths[QUADRATURE_INTERVALS];
+
+      int sampleCount = Math.max(16, (int) Math.ceil(length * SAMPLES_PER_INCH)) + 1;
+      directions = new double[sampleCount];
+      int interval = 0;
+      for (int i = 0; i < sampleCount; i++) {
+        double distance = length * i / (sampleCount - 1);
+        while (interval < QUADRATURE_INTERVALS - 1 && intervalLengths[interval + 1] < distance) {
+          interval++;
+        }
+
+        double t =
+            getParameterAtDistance(
+                (double) interval / QUADRATURE_INTERVALS,
+                (interval + 1.0) / QUADRATURE_INTERVALS,
+                distance - intervalLengths[interval]);
+        double direction =
+            Math.toDegrees(
+                Math.atan2(evaluate(strafeDerivative, t), evaluate(forwardDerivative, t)));
+
+        // Directions are stored unwrapped so that a spline may turn through more than 180 degrees.
+        directions[i] =
+            i == 0
+                ? direction
+                : directions[i - 1]
+                    + SimpleUtil.getContinuousInRange(direction - directions[i - 1], 360);
+      }
+    }
+
+    /**
+     * Returns the coefficients of the derivative of a quintic Hermite spline starting at zero with
+     * the given start and end tangents, ending at the given position, and with no second derivative
+     * at either end.
+     */
+    private static double[] getDerivativeCoefficients(
+        double startTangent, double endTangent, double endPosition) {
+      return new double[] {
+        startTangent,
+        0.0,
+        (-18.0 * startTangent) - (12.0 * endTangent) + (30.0 * endPosition),
+        (32.0 * startTangent) + (28.0 * endTangent) - (60.0 * endPosition),
+        (-15.0 * startTangent) - (15.0 * endTangent) + (30.0 * endPosition)
+      };
+    }
+
+    private static double evaluate(double[] coefficients, double t) {
+      double value = 0.0;
+      for (int i = coefficients.length - 1; i >= 0; i--) {
+        value = (value * t) + coefficients[i];
+      }
+      return value;
+    }
+
+    private double getSpeed(double t) {
+      return Math.hypot(evaluate(forwardDerivative, t), evaluate(strafeDerivative, t));
+    }
+
+    private double getArcLength(double start, double end) {
+      double halfWidth = (end - start) / 2.0;
+      double middle = (start + end) / 2.0;
+      double arcLength = 0.0;
+      for (int i = 0; i < GAUSS_NODES.length; i++) {
+        arcLength += GAUSS_WEIGHTS[i] * getSpeed(middle + (halfWidth * GAUSS_NODES[i]));
+      }
+      return arcLength * halfWidth;
+    }
+
+    /** Finds the parameter at an arc length past the start of an interval by Newton's method. */
+    private double getParameterAtDistance(double start, double end, double distance) {
+      double intervalLength = getArcLength(start, end);
+      double t = intervalLength > 0.0 ? start + ((end - start) * distance / intervalLength) : start;
+      for (int i = 0; i < 4; i++) {
+        double speed = getSpeed(t);
+        if (speed <= 0.0) {
+          break;
+        }
+        t = Math.max(start, Math.min(end, t - ((getArcLength(start, t) - distance) / speed)));
+      }
+      return t;
+    }
+
+    @Override
+    public double getDirection(double percentage) {
+      double position =
+          Math.max(0.0, Math.min(percentage * (directions.length - 1), directions.length - 1));
+      int index = Math.min((int) position, directions.length - 2);
+      return directions[index] + (directions[index + 1] - directions[index]) * (position - index);
+    }
+
+    @Override
+    public double getLength() {
+      return length;
+    }
+
+    @Override
+    public double getEndAngle() {
+      return endAngle;
+    }
+
+    @Override
+    public PathSegment getFlipped() {
+      return new QuinticSpline(
+          forwardTranslation, -strafeTranslation, -endDirection, (360 - endAngle) % 360.0);
     }
   }
 }
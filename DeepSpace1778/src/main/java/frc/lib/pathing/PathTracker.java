@@ -0,0 +1,119 @@
+package frc.lib.pathing;
+
+/**
+ * Finds the point on a {@link CompiledPath} nearest to the robot's position. Only a small window of
+ * samples ahead of the last nearest point is searched each time, so each update costs the same no
+ * matter how long the path is, and the robot can never jump to a later part of the path that
+ * happens to pass close by.
+ *
+ * <p>Positions are in inches forward and to the strafe side of where the path starts, the same as
+ * {@link CompiledPath#getForwardPositionAtDistance} and {@link
+ * CompiledPath#getStrafePositionAtDistance}.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class PathTracker {
+
+  public static final int DEFAULT_SEARCH_WINDOW = 8;
+
+  private final CompiledPath path;
+  private final int searchWindow;
+
+  private int nearestSample;
+  private double distance;
+  private double crossTrackError;
+
+  public PathTracker(CompiledPath path) {
+    this(path, DEFAULT_SEARCH_WINDOW);
+  }
+
+  /**
+   * Creates a tracker that searches the given number of samples past the last nearest point. The
+   * window must cover more than the distance the robot can travel between updates.
+   */
+  public PathTracker(CompiledPath path, int searchWindow) {
+    this.path = path;
+    this.searchWindow = searchWindow;
+  }
+
+  public void reset() {
+    nearestSample = 0;
+    distance = 0.0;
+    crossTrackError = 0.0;
+  }
+
+  /** Updates the nearest point on the path to the position and returns its distance along it. */
+  public double update(double forwardPosition, double strafePosition) {
+    int lastSample = path.getSampleCount() - 1;
+    int windowEnd = Math.min(lastSample, nearestSample + searchWindow);
+
+    double nearestDistanceSquared = Double.POSITIVE_INFINITY;
+    for (int i = nearestSample; i <= windowEnd; i++) {
+      double forwardError = forwardPosition - path.getForwardPosition(i);
+      double strafeError = strafePosition - path.getStrafePosition(i);
+      double distanceSquared = (forwardError * forwardError) + (strafeError * strafeError);
+      if (distanceSquared < nearestDistanceSquared) {
+        nearestDistanceSquared = distanceSquared;
+        nearestSample = i;
+      }
+    }
+
+    // The nearest point may lie between the nearest sample and either of its neighbours.
+    int segment = Math.min(nearestSample, lastSample - 1);
+    double fraction = getProjection(segment, forwardPosition, strafePosition);
+    if (fraction < 0.0 && segment > 0) {
+      segment--;
+      fraction = getProjection(segment, forwardPosition, strafePosition);
+    }
+    fraction = Math.max(0.0, Math.min(fraction, 1.0));
+
+    double startForward = path.getForwardPosition(segment);
+    double startStrafe = path.getStrafePosition(segment);
+    double forwardDelta = path.getForwardPosition(segment + 1) - startForward;
+    double strafeDelta = path.getStrafePosition(segment + 1) - startStrafe;
+    double segmentLength = Math.hypot(forwardDelta, strafeDelta);
+
+    distance = (segment + fraction) * path.getStep();
+    crossTrackError =
+        segmentLength > 0.0
+            ? (((strafePosition - startStrafe) * forwardDelta)
+                    - ((forwardPosition - startForward) * strafeDelta))
+                / segmentLength
+            : 0.0;
+
+    return distance;
+  }
+
+  /**
+   * Returns how far along the segment after a sample the position projects onto, where 0 is the
+   * sample itself and 1 is the sample after it.
+   */
+  private double getProjection(int segment, double forwardPosition, double strafePosition) {
+    double startForward = path.getForwardPosition(segment);
+    double startStrafe = path.getStrafePosition(segment);
+    double forwardDelta = path.getForwardPosition(segment + 1) - startForward;
+    double strafeDelta = path.getStrafePosition(segment + 1) - startStrafe;
+    double segmentLengthSquared = (forwardDelta * forwardDelta) + (strafeDelta * strafeDelta);
+    if (segmentLengthSquared <= 0.0) {
+      return 0.0;
+    }
+
+    return (((forwardPosition - startForward) * forwardDelta)
+            + ((strafePosition - startStrafe) * strafeDelta))
+        / segmentLengthSquared;
+  }
+
+  /** Returns the distance along the path of the nearest point found by the last update. */
+  public double getDistance() {
+    return distance;
+  }
+
+  /**
+   * Returns how far the position given to the last update was from the path, in inches. This is
+   * positive when the position is to the side of the path that its direction turns towards when it
+   * increases.
+   */
+  public double getCrossTrackError() {
+    return crossTrackError;
+  }
+}
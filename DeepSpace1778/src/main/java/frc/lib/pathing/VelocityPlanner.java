@@ -0,0 +1,113 @@
+package frc.lib.pathing;
+
+import frc.lib.kinematics.SwerveKinematics;
+
+/**
+ * Plans the fastest velocity a swerve drive can follow along a {@link CompiledPath} without any
+ * module being asked to go faster than it can. Each sample of the path is first capped by the
+ * centripetal acceleration its curvature would need and by the speed of the fastest module while
+ * the robot turns to follow the path's angle. A forward and a backward pass then limit how quickly
+ * the velocity can change between samples, so that the robot can always accelerate or brake in
+ * time for the next cap.
+ *
+ * <p>Because no module is ever asked to exceed the maximum velocity, the swerve drive never has to
+ * scale the module powers down to fit, which would otherwise slow the robot unpredictably on arcs.
+ * Nothing on the robot follows a plan yet, since auto paths are still driven along their length
+ * with motion magic.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class VelocityPlanner {
+
+  private final double step;
+  private final double[] velocities;
+  private final double[] times;
+
+  public VelocityPlanner(
+      CompiledPath path,
+      double maxVelocity,
+      double maxAcceleration,
+      double maxCentripetalAcceleration,
+      SwerveKinematics kinematics) {
+    step = path.getStep();
+
+    int sampleCount = path.getSampleCount();
+    velocities = new double[sampleCount];
+    times = new double[sampleCount];
+
+    for (int i = 0; i < sampleCount; i++) {
+      double distance = i * step;
+      double curvature = Math.toRadians(Math.abs(path.getCurvatureAtDistance(distance)));
+      double angleRate = Math.toRadians(path.getAngleRateAtDistance(distance));
+      double relativeDirection =
+          Math.toRadians(path.getDirectionAtDistance(distance) - path.getAngleAtDistance(distance));
+
+      double velocity =
+          maxVelocity / getFastestModuleRatio(kinematics, relativeDirection, angleRate);
+      if (curvature > 0.0) {
+        velocity = Math.min(velocity, Math.sqrt(maxCentripetalAcceleration / curvature));
+      }
+      velocities[i] = velocity;
+    }
+
+    velocities[0] = 0.0;
+    for (int i = 1; i < sampleCount; i++) {
+      velocities[i] =
+          Math.min(
+              velocities[i],
+              Math.sqrt(velocities[i - 1] * velocities[i - 1] + 2 * maxAcceleration * step));
+    }
+
+    velocities[sampleCount - 1] = 0.0;
+    for (int i = sampleCount - 2; i >= 0; i--) {
+      velocities[i] =
+          Math.min(
+              velocities[i],
+              Math.sqrt(velocities[i + 1] * velocities[i + 1] + 2 * maxAcceleration * step));
+    }
+
+    for (int i = 1; i < sampleCount; i++) {
+      double velocitySum = velocities[i - 1] + velocities[i];
+      double intervalTime =
+          velocitySum > 0.0 ? 2 * step / velocitySum : 2 * Math.sqrt(step / maxAcceleration);
+      times[i] = times[i - 1] + intervalTime;
+    }
+  }
+
+  /**
+   * Returns how much faster the fastest module moves than the center of the robot. The robot
+   * travels in a direction relative to its front while turning at the given rate (in radians per
+   * inch travelled), so each module moves at the robot's velocity plus the tangential velocity of
+   * its position.
+   */
+  static double getFastestModuleRatio(
+      SwerveKinematics kinematics, double relativeDirection, double angleRate) {
+    double forward = Math.cos(relativeDirection);
+    double strafe = Math.sin(relativeDirection);
+
+    double fastest = 0.0;
+    for (int i = 0; i < kinematics.getModuleCount(); i++) {
+      fastest = Math.max(fastest, kinematics.getModuleSpeed(i, forward, strafe, angleRate));
+    }
+
+    return fastest;
+  }
+
+  public double getDuration() {
+    return times[times.length - 1];
+  }
+
+  public double getVelocityAtDistance(double distance) {
+    return interpolate(velocities, distance);
+  }
+
+  public double getTimeAtDistance(double distance) {
+    return interpolate(times, distance);
+  }
+
+  private double interpolate(double[] samples, double distance) {
+    double position = Math.max(0.0, Math.min(distance / step, samples.length - 1));
+    int index = Math.min((int) position, samples.length - 2);
+    return samples[index] + (samples[index + 1] - samples[index]) * (position - index);
+  }
+}
@@ -0,0 +1,55 @@
+package frc.lib.sim;
+
+import frc.lib.util.SimpleUtil;
+
+/**
+ * A simple model of an elevator, for running auto modes without a robot. The carriage moves
+ * towards its target height with a trapezoidal profile like the Talons' motion magic, and the
+ * height it reports is exact.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class SimulatedElevator {
+
+  private final double maxVelocity;
+  private final double maxAcceleration;
+
+  private double targetHeight;
+  private double height;
+  private double velocity;
+
+  /**
+   * Creates an elevator at the bottom, which moves at up to the maximum velocity and acceleration
+   * in inches per second.
+   */
+  public SimulatedElevator(double maxVelocity, double maxAcceleration) {
+    this.maxVelocity = maxVelocity;
+    this.maxAcceleration = maxAcceleration;
+  }
+
+  /** Sets the height, in inches, the carriage moves to. */
+  public void setTargetHeight(double newHeight) {
+    targetHeight = newHeight;
+  }
+
+  public double getTargetHeight() {
+    return targetHeight;
+  }
+
+  /** Moves the elevator forward in time by the given number of seconds. */
+  public void step(double dt) {
+    double remaining = targetHeight - height;
+    double wantedVelocity =
+        Math.copySign(
+            Math.min(Math.sqrt(2.0 * maxAcceleration * Math.abs(remaining)), maxVelocity),
+            remaining);
+    velocity +=
+        SimpleUtil.limit(wantedVelocity - velocity, -maxAcceleration * dt, maxAcceleration * dt);
+    height += velocity * dt;
+  }
+
+  /** Returns the height of the carriage, in inches. */
+  public double getHeight() {
+    return height;
+  }
+}
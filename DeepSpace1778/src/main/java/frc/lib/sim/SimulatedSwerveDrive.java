@@ -0,0 +1,142 @@
+package frc.lib.sim;
+
+import frc.lib.kinematics.Pose;
+import frc.lib.kinematics.SwerveKinematics;
+import frc.lib.util.SimpleUtil;
+
+/**
+ * A simple model of a swerve drive, for running auto modes without a robot. Each module turns
+ * towards its target direction at a limited rate, flipping around instead of turning more than 90
+ * degrees the same way the real modules do, and drives towards a target distance with a
+ * trapezoidal profile like the Talons' motion magic. The chassis moves by the least-squares fit of
+ * the modules' motion, and the model keeps track of where it really is and which way it faces, so
+ * the gyro and encoders it reports are exact.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class SimulatedSwerveDrive {
+
+  private final SwerveKinematics kinematics;
+  private final double maxVelocity;
+  private final double maxAcceleration;
+  private final double turnRate;
+
+  private final double[] facings;
+  private final boolean[] reversed;
+  private final double[] targetDirections;
+  private final double[] directions;
+  private final double[] distances;
+  private final double[] velocities;
+  private final double[] steps;
+  private final double[] chassis = new double[3];
+  private double targetDistance;
+
+  private double forward;
+  private double strafe;
+  private double angle;
+
+  /**
+   * Creates a drive with modules laid out as given, which drive at up to the maximum velocity and
+   * acceleration in inches per second, and turn at up to the turn rate in degrees per second.
+   */
+  public SimulatedSwerveDrive(
+      SwerveKinematics kinematics, double maxVelocity, double maxAcceleration, double turnRate) {
+    this.kinematics = kinematics;
+    this.maxVelocity = maxVelocity;
+    this.maxAcceleration = maxAcceleration;
+    this.turnRate = turnRate;
+
+    int moduleCount = kinematics.getModuleCount();
+    facings = new double[moduleCount];
+    reversed = new boolean[moduleCount];
+    targetDirections = new double[moduleCount];
+    directions = new double[moduleCount];
+    distances = new double[moduleCount];
+    velocities = new double[moduleCount];
+    steps = new double[moduleCount];
+  }
+
+  /** Sets the direction, in degrees relative to the robot, each module should drive in. */
+  public void setTargetDirections(double[] newDirections) {
+    System.arraycopy(newDirections, 0, targetDirections, 0, targetDirections.length);
+  }
+
+  /** Sets the distance every module drives to, as the drive does with motion magic. */
+  public void setTargetDistance(double distance) {
+    targetDistance = distance;
+  }
+
+  /** Holds every module where it is. */
+  public void stop() {
+    for (int i = 0; i < velocities.length; i++) {
+      velocities[i] = 0.0;
+    }
+    targetDistance = getMeanDistance();
+  }
+
+  /** Zeros every module's distance, like resetting the drive encoders. */
+  public void resetDistances() {
+    for (int i = 0; i < distances.length; i++) {
+      distances[i] = 0.0;
+    }
+    targetDistance = 0.0;
+  }
+
+  /** Moves the drive forward in time by the given number of seconds. */
+  public void step(double dt) {
+    for (int i = 0; i < facings.length; i++) {
+      double error = SimpleUtil.getContinuousInRange(targetDirections[i] - facings[i], 360.0);
+      reversed[i] = Math.abs(error) > 90.0;
+      if (reversed[i]) {
+        error = SimpleUtil.getContinuousInRange(error + 180.0, 360.0);
+      }
+      facings[i] += SimpleUtil.limit(error, -turnRate * dt, turnRate * dt);
+      directions[i] = reversed[i] ? facings[i] + 180.0 : facings[i];
+
+      double remaining = targetDistance - distances[i];
+      double wantedVelocity =
+          Math.copySign(
+              Math.min(Math.sqrt(2.0 * maxAcceleration * Math.abs(remaining)), maxVelocity),
+              remaining);
+      velocities[i] +=
+          SimpleUtil.limit(
+              wantedVelocity - velocities[i], -maxAcceleration * dt, maxAcceleration * dt);
+      steps[i] = velocities[i] * dt;
+      distances[i] += steps[i];
+    }
+
+    kinematics.toChassisMotion(steps, directions, chassis);
+    double turn = Math.toDegrees(chassis[2]);
+    double heading = Math.toRadians(angle + (turn / 2.0));
+    forward += (chassis[0] * Math.cos(heading)) - (chassis[1] * Math.sin(heading));
+    strafe += (chassis[0] * Math.sin(heading)) + (chassis[1] * Math.cos(heading));
+    angle += turn;
+  }
+
+  public double getDistance(int module) {
+    return distances[module];
+  }
+
+  /** Returns the direction, in degrees relative to the robot, the module drives in. */
+  public double getDirection(int module) {
+    return directions[module];
+  }
+
+  public double getMeanDistance() {
+    double sum = 0.0;
+    for (double distance : distances) {
+      sum += distance;
+    }
+    return sum / distances.length;
+  }
+
+  /** Returns the heading the robot really faces, in degrees, as a perfect gyro would. */
+  public double getAngle() {
+    return angle;
+  }
+
+  /** Returns where the robot really is, at the given time in seconds. */
+  public Pose getPose(double timestamp) {
+    return new Pose(forward, strafe, angle, timestamp);
+  }
+}
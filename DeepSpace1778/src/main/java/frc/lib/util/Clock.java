@@ -0,0 +1,53 @@
+package frc.lib.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A source of time for code that waits or measures how long things take. The robot uses the
+ * system clock, and a simulation can swap in a {@link VirtualClock} so that the same code runs
+ * without waiting in real time.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public abstract class Clock {
+
+  /** The system's monotonic clock, which sleeps by parking the calling thread. */
+  public static final Clock SYSTEM =
+      new Clock() {
+        @Override
+        public long getNanos() {
+          return System.nanoTime();
+        }
+
+        @Override
+        public void sleep(long nanos) {
+          LockSupport.parkNanos(nanos);
+        }
+      };
+
+  private static volatile Clock current = SYSTEM;
+
+  /** Returns the clock the robot code is using. */
+  public static Clock get() {
+    return current;
+  }
+
+  /** Makes the robot code use the given clock from now on. */
+  public static void set(Clock clock) {
+    current = clock;
+  }
+
+  /** Returns the time in nanoseconds. Only the difference between two times means anything. */
+  public abstract long getNanos();
+
+  /** Waits for a number of nanoseconds, or returns early if the thread is interrupted. */
+  public abstract void sleep(long nanos);
+
+  public double getSeconds() {
+    return getNanos() / 1.0e9;
+  }
+
+  public long getMillis() {
+    return getNanos() / 1000000L;
+  }
+}
@@ -0,0 +1,83 @@
+package frc.lib.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Paces a loop at a fixed rate by waiting until absolute deadlines rather than sleeping for a
+ * fixed time after each pass. Sleeping for the period after the work makes each pass take the
+ * period plus however long the work took, so a loop meant for 50 Hz runs slower the more it does.
+ * Here every deadline is a whole number of periods after the start, so the rate does not drift.
+ *
+ * <p>If the work runs past one or more deadlines, those ticks are skipped and counted as overruns
+ * instead of being run back to back to catch up.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class FixedRateScheduler {
+
+  /** Waits for a number of nanoseconds, or returns early if interrupted. */
+  public interface Sleeper {
+    void sleep(long nanos);
+  }
+
+  private static final int STATS_CAPACITY = 1024;
+
+  private final long periodNanos;
+  private final LongSupplier clock;
+  private final Sleeper sleeper;
+  private final LoopTimingStats stats = new LoopTimingStats(STATS_CAPACITY);
+
+  private long nextDeadline;
+
+  public FixedRateScheduler(double periodSeconds) {
+    this(periodSeconds, Clock.get());
+  }
+
+  /** Creates a scheduler that reads the time from and sleeps on the given clock. */
+  public FixedRateScheduler(double periodSeconds, Clock clock) {
+    this(periodSeconds, clock::getNanos, clock::sleep);
+  }
+
+  /** Creates a scheduler that reads the time, in nanoseconds, from a supplier of its own. */
+  public FixedRateScheduler(double periodSeconds, LongSupplier clock, Sleeper sleeper) {
+    this.periodNanos = (long) (periodSeconds * 1.0e9);
+    this.clock = clock;
+    this.sleeper = sleeper;
+  }
+
+  /** Starts timing from now, so the first deadline is one period away. */
+  public void start() {
+    stats.reset();
+    nextDeadline = clock.getAsLong() + periodNanos;
+  }
+
+  /** Waits until the next deadline, skipping any that have already passed. */
+  public void waitForNextTick() throws InterruptedException {
+    long now = clock.getAsLong();
+    if (now >= nextDeadline) {
+      long missedTicks = ((now - nextDeadline) / periodNanos) + 1;
+      stats.recordOverruns(missedTicks);
+      nextDeadline += missedTicks * periodNanos;
+    }
+
+    // Parking can wake early, so keep waiting until the deadline has actually passed.
+    while (now < nextDeadline) {
+      sleeper.sleep(nextDeadline - now);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      now = clock.getAsLong();
+    }
+
+    stats.recordTick(now - nextDeadline);
+    nextDeadline += periodNanos;
+  }
+
+  public double getPeriod() {
+    return periodNanos / 1.0e9;
+  }
+
+  public LoopTimingStats getStats() {
+    return stats;
+  }
+}
@@ -0,0 +1,63 @@
+package frc.lib.util;
+
+/**
+ * Turns the robot toward a heading with a PID loop on the gyro angle, always the shorter way
+ * around. It is updated by whatever is driving the robot, once per loop, instead of on a notifier
+ * of its own, so it holds no threads or handles and nothing has to be closed once it is done with.
+ * The integral and derivative are taken over the update period, so the gains do not depend on how
+ * often it is updated.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class HeadingController {
+
+  private final double proportionalGain;
+  private final double integralGain;
+  private final double derivativeGain;
+  private final double period;
+
+  private double targetAngle;
+  private double totalError;
+  private double lastError;
+
+  /**
+   * Creates a controller updated every period, in seconds. The gains are in rotation per degree
+   * of error, per degree-second of accumulated error, and per degree per second of change.
+   */
+  public HeadingController(
+      double proportionalGain, double integralGain, double derivativeGain, double period) {
+    this.proportionalGain = proportionalGain;
+    this.integralGain = integralGain;
+    this.derivativeGain = derivativeGain;
+    this.period = period;
+  }
+
+  /** Sets the heading to turn toward, in degrees. */
+  public void setTargetAngle(double angle) {
+    targetAngle = angle;
+  }
+
+  /** Forgets the error from earlier updates, so a new run starts without any windup. */
+  public void reset() {
+    totalError = 0.0;
+    lastError = 0.0;
+  }
+
+  /**
+   * Returns the rotation, from -1 to 1, that turns a robot at the given angle in degrees toward the
+   * target heading. The integral only grows while it alone would not saturate the output.
+   */
+  public double update(double angle) {
+    double error = SimpleUtil.getContinuousInRange(targetAngle - angle, 360.0);
+    if (Math.abs(integralGain * (totalError + (error * period))) < 1.0) {
+      totalError += error * period;
+    }
+
+    double output =
+        (proportionalGain * error)
+            + (integralGain * totalError)
+            + (derivativeGain * (error - lastError) / period);
+    lastError = error;
+    return SimpleUtil.limit(output, -1.0, 1.0);
+  }
+}
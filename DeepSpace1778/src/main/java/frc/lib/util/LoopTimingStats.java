@@ -0,0 +1,81 @@
+package frc.lib.util;
+
+import java.util.Arrays;
+
+/**
+ * Collects how late each tick of a fixed rate loop woke up, and how many ticks it missed entirely
+ * because the work before them ran past them. Lateness is kept in a buffer allocated up front, so
+ * recording it never allocates; once the buffer is full the oldest samples are overwritten.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class LoopTimingStats {
+
+  private final long[] latenessNanos;
+  private int sampleCount;
+  private int nextSample;
+  private long tickCount;
+  private long overrunCount;
+  private long maxLatenessNanos;
+
+  public LoopTimingStats(int capacity) {
+    latenessNanos = new long[capacity];
+  }
+
+  public void reset() {
+    sampleCount = 0;
+    nextSample = 0;
+    tickCount = 0;
+    overrunCount = 0;
+    maxLatenessNanos = 0;
+  }
+
+  /** Records how long after its deadline a tick woke up. */
+  public void recordTick(long lateNanos) {
+    latenessNanos[nextSample] = lateNanos;
+    nextSample = (nextSample + 1) % latenessNanos.length;
+    sampleCount = Math.min(sampleCount + 1, latenessNanos.length);
+    tickCount++;
+    maxLatenessNanos = Math.max(maxLatenessNanos, lateNanos);
+  }
+
+  /** Records ticks that were skipped because the loop was still working when they came due. */
+  public void recordOverruns(long missedTicks) {
+    overrunCount += missedTicks;
+  }
+
+  public long getTickCount() {
+    return tickCount;
+  }
+
+  public long getOverrunCount() {
+    return overrunCount;
+  }
+
+  public double getMaxLatenessMillis() {
+    return maxLatenessNanos / 1.0e6;
+  }
+
+  /** Returns the lateness, in milliseconds, that the given fraction of recent ticks were within. */
+  public double getLatenessPercentileMillis(double fraction) {
+    if (sampleCount == 0) {
+      return 0.0;
+    }
+
+    long[] sorted = Arrays.copyOf(latenessNanos, sampleCount);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(fraction * sampleCount) - 1;
+    return sorted[Math.max(0, Math.min(index, sampleCount - 1))] / 1.0e6;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d ticks, %d overruns, lateness p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+        tickCount,
+        overrunCount,
+        getLatenessPercentileMillis(0.5),
+        getLatenessPercentileMillis(0.99),
+        getMaxLatenessMillis());
+  }
+}
@@ -0,0 +1,61 @@
+package frc.lib.util;
+
+/**
+ * The readings from both Talon SRX controllers of a swerve module, taken together at one point in
+ * the loop. Everything that needs a module's sensors during the loop reads them from here, so each
+ * one sees the same samples and the controllers are only asked once.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class ModuleSensors {
+
+  private double drivePosition;
+  private double driveVelocity;
+  private double turnPosition;
+  private double driveCurrent;
+  private double turnCurrent;
+  private boolean driveInverted;
+
+  /** Replaces every reading at once so the same object can be filled in again every loop. */
+  public void set(
+      double drivePosition,
+      double driveVelocity,
+      double turnPosition,
+      double driveCurrent,
+      double turnCurrent,
+      boolean driveInverted) {
+    this.drivePosition = drivePosition;
+    this.driveVelocity = driveVelocity;
+    this.turnPosition = turnPosition;
+    this.driveCurrent = driveCurrent;
+    this.turnCurrent = turnCurrent;
+    this.driveInverted = driveInverted;
+  }
+
+  /** Returns the drive encoder position in encoder pulses. */
+  public double getDrivePosition() {
+    return drivePosition;
+  }
+
+  /** Returns the drive encoder velocity in encoder pulses per 100 milliseconds. */
+  public double getDriveVelocity() {
+    return driveVelocity;
+  }
+
+  /** Returns the raw turn encoder position, where 1024 is one full turn. */
+  public double getTurnPosition() {
+    return turnPosition;
+  }
+
+  public double getDriveCurrent() {
+    return driveCurrent;
+  }
+
+  public double getTurnCurrent() {
+    return turnCurrent;
+  }
+
+  public boolean isDriveInverted() {
+    return driveInverted;
+  }
+}
@@ -10,11 +10,19 @@ public class ModuleSignal {
   private double drivePower;
   private double turnAngle;
 
+  public ModuleSignal() {}
+
   public ModuleSignal(double power, double angle) {
     drivePower = power;
     turnAngle = angle;
   }
 
+  /** Replaces this signal's values so the same signal can be reused every loop. */
+  public void set(double power, double angle) {
+    drivePower = power;
+    turnAngle = angle;
+  }
+
   public double getDrivePower() {
     return drivePower;
   }
@@ -0,0 +1,55 @@
+package frc.lib.util;
+
+/**
+ * Estimates the voltage a motor needs to hold a velocity and acceleration from the three terms of
+ * a permanent magnet DC motor: a static term to overcome friction, a velocity term for the back
+ * EMF and an acceleration term for the inertia of whatever it drives. A closed loop only has to
+ * correct the error left over, so it can stay gentle and still track closely.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class MotorFeedforward {
+
+  private final double staticGain;
+  private final double velocityGain;
+  private final double accelerationGain;
+
+  /**
+   * Creates a feedforward with the static term in volts, the velocity term in volts per unit per
+   * second and the acceleration term in volts per unit per second squared.
+   */
+  public MotorFeedforward(double staticGain, double velocityGain, double accelerationGain) {
+    this.staticGain = staticGain;
+    this.velocityGain = velocityGain;
+    this.accelerationGain = accelerationGain;
+  }
+
+  /** Returns the voltage for the velocity and acceleration. No voltage is needed to stand still. */
+  public double calculate(double velocity, double acceleration) {
+    if (velocity == 0.0 && acceleration == 0.0) {
+      return 0.0;
+    }
+
+    double direction = velocity != 0.0 ? Math.signum(velocity) : Math.signum(acceleration);
+    return (staticGain * direction)
+        + (velocityGain * velocity)
+        + (accelerationGain * acceleration);
+  }
+
+  /** Returns the fastest velocity the given voltage can hold, ignoring acceleration. */
+  public double getMaxVelocity(double voltage) {
+    return Math.max(0.0, voltage - staticGain) / velocityGain;
+  }
+
+  public double getStaticGain() {
+    return staticGain;
+  }
+
+  public double getVelocityGain() {
+    return velocityGain;
+  }
+
+  public double getAccelerationGain() {
+    return accelerationGain;
+  }
+}
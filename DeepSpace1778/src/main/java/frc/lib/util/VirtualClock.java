@@ -0,0 +1,28 @@
+package frc.lib.util;
+
+/**
+ * A clock whose time only moves when it is told to. Sleeping moves the time forward by however
+ * long was asked for and returns straight away, so code paced by this clock runs as fast as it
+ * can be computed instead of in real time.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class VirtualClock extends Clock {
+
+  private volatile long nanos;
+
+  @Override
+  public long getNanos() {
+    return nanos;
+  }
+
+  @Override
+  public synchronized void sleep(long nanos) {
+    advance(nanos);
+  }
+
+  /** Moves the time forward by a number of nanoseconds. */
+  public synchronized void advance(long nanos) {
+    this.nanos += nanos;
+  }
+}
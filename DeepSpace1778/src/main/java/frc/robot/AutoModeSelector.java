@@ -3,21 +3,34 @@ package frc.robot;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.wpilibj.shuffleboard.BuiltInWidgets;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import frc.lib.util.DebugLog;
 import frc.robot.auto.AutoModeBase;
 import frc.robot.auto.modes.CargoBayMode;
 import frc.robot.auto.modes.DoNothingMode;
+import frc.robot.auto.modes.DriveCharacterizationMode;
 import frc.robot.auto.modes.DualCargoBayMode;
 import frc.robot.auto.modes.DualNearSideRocketMode;
 import frc.robot.auto.modes.MotionTestMode;
 import frc.robot.auto.modes.NearSideRocketAndCargoBay;
 import frc.robot.auto.modes.NearSideRocketAndFarSideRocket;
 import frc.robot.auto.modes.NearSideRocketMode;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * Handles selecting an autonomous mode based on input from SendableChoosers in Shuffleboard. This
  * returns an AutoMode that can be run.
  *
+ * <p>Whenever the selection changes, the new mode is built and prebuilt on a low priority worker
+ * thread so that the main loop never waits on it. The finished mode is published together with
+ * the selection it was built for, and is only handed out while that selection is still current.
+ *
  * @author FRC 1778 Chill Out
  */
 public class AutoModeSelector {
@@ -31,6 +44,7 @@ public class AutoModeSelector {
   public enum WantedMode {
     DO_NOTHING,
     TEST_MODE,
+    CHARACTERIZE_DRIVE,
     RUN_SELECTED_AUTO
   }
 
@@ -46,6 +60,79 @@ public class AutoModeSelector {
     CARGO_BAY
   }
 
+  /**
+   * One combination of the choosers, and the auto mode it selects. Combinations that do not make
+   * sense, or have no mode written for them yet, have no mode and say why instead.
+   */
+  public static class Selection {
+    private final WantedMode wantedMode;
+    private final StartingPosition position;
+    private final WantedFirstTarget firstTarget;
+    private final WantedSecondTarget secondTarget;
+    private final Class<? extends AutoModeBase> modeType;
+    private final Function<StartingPosition, AutoModeBase> factory;
+    private final String feedback;
+
+    private Selection(
+        WantedMode wantedMode,
+        StartingPosition position,
+        WantedFirstTarget firstTarget,
+        WantedSecondTarget secondTarget,
+        Class<? extends AutoModeBase> modeType,
+        Function<StartingPosition, AutoModeBase> factory,
+        String invalidMessage) {
+      this.wantedMode = wantedMode;
+      this.position = position;
+      this.firstTarget = firstTarget;
+      this.secondTarget = secondTarget;
+      this.modeType = modeType;
+      this.factory = factory;
+      feedback =
+          (modeType == null ? "Invalid config" : modeType.getSimpleName())
+              + " for "
+              + position.toString()
+              + ". "
+              + invalidMessage;
+    }
+
+    public WantedMode getWantedMode() {
+      return wantedMode;
+    }
+
+    public StartingPosition getPosition() {
+      return position;
+    }
+
+    public WantedFirstTarget getFirstTarget() {
+      return firstTarget;
+    }
+
+    public WantedSecondTarget getSecondTarget() {
+      return secondTarget;
+    }
+
+    public boolean isValid() {
+      return factory != null;
+    }
+
+    /** Returns the class of the auto mode this selects, or null if it selects none. */
+    public Class<? extends AutoModeBase> getModeType() {
+      return modeType;
+    }
+
+    /** Returns the message shown on the dashboard when this is selected. */
+    public String getFeedback() {
+      return feedback;
+    }
+
+    /** Creates a new instance of the auto mode, since an auto mode can only be run once. */
+    public Optional<AutoModeBase> createMode() {
+      return factory == null ? Optional.empty() : Optional.of(factory.apply(position));
+    }
+  }
+
+  private static final Selection[] SELECTIONS = createSelections();
+
   private WantedMode cachedWantedMode = null;
   private StartingPosition cachedStartingPosition = null;
   private WantedFirstTarget cachedWantedFirstTarget = null;
@@ -53,7 +140,30 @@ public class AutoModeSelector {
 
   boolean shuffleboardEnabled;
 
-  private Optional<AutoModeBase> mode = Optional.empty();
+  /** An auto mode that has finished prebuilding, and the selection it was built for. */
+  private static class PrebuiltMode {
+    final int selection;
+    final Optional<AutoModeBase> mode;
+
+    PrebuiltMode(int selection, Optional<AutoModeBase> mode) {
+      this.selection = selection;
+      this.mode = mode;
+    }
+  }
+
+  private final ExecutorService prebuildWorker =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "AutoModePrebuild");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  private final AtomicReference<PrebuiltMode> prebuiltMode =
+      new AtomicReference<>(new PrebuiltMode(0, Optional.empty()));
+  private int selection;
+  private Future<?> prebuild;
 
   private SendableChooser<WantedMode> modeChooser;
   private SendableChooser<StartingPosition> startPositionChooser;
@@ -147,8 +257,16 @@ public class AutoModeSelector {
         || startPosition != cachedStartingPosition
         || cachedWantedFirstTarget != wantedFirstTarget
         || cachedWantedSecondTarget != wantedSecondTarget) {
-      mode =
-          getModeForParams(wantedMode, startPosition, wantedFirstTarget, wantedSecondTarget, true);
+      int wantedSelection = ++selection;
+      prebuild =
+          prebuildWorker.submit(
+              () ->
+                  prebuild(
+                      wantedSelection,
+                      wantedMode,
+                      startPosition,
+                      wantedFirstTarget,
+                      wantedSecondTarget));
     }
     cachedWantedMode = wantedMode;
     cachedStartingPosition = startPosition;
@@ -156,141 +274,249 @@ public class AutoModeSelector {
     cachedWantedSecondTarget = wantedSecondTarget;
   }
 
+  private void prebuild(
+      int wantedSelection,
+      WantedMode wantedMode,
+      StartingPosition position,
+      WantedFirstTarget firstTarget,
+      WantedSecondTarget secondTarget) {
+    long startTime = System.nanoTime();
+    Optional<AutoModeBase> mode;
+    try {
+      mode = getModeForParams(wantedMode, position, firstTarget, secondTarget, true);
+      mode.ifPresent(AutoModeBase::prebuild);
+    } catch (Throwable t) {
+      DebugLog.logThrowableCrash(t);
+      mode = Optional.empty();
+    }
+
+    prebuiltMode.set(new PrebuiltMode(wantedSelection, mode));
+    DebugLog.logNote(
+        String.format(
+            "Auto mode selected and prebuilt in %.2f ms", (System.nanoTime() - startTime) / 1.0e6));
+  }
+
+  /**
+   * Waits for the current selection to finish prebuilding, in case autonomous starts before it
+   * has. This returns straight away if the mode is already built.
+   */
+  public void waitForPrebuild() {
+    if (prebuild == null) {
+      return;
+    }
+
+    try {
+      prebuild.get();
+    } catch (InterruptedException | ExecutionException e) {
+      DebugLog.logThrowableCrash(e);
+    }
+  }
+
   public Optional<AutoModeBase> getModeForParams(
       WantedMode wantedMode,
       StartingPosition position,
       WantedFirstTarget firstTarget,
       WantedSecondTarget secondTarget,
       boolean useShuffleboard) {
-    Optional<AutoModeBase> mode;
-    String invalidMessage = "";
+    Selection selection = getSelection(wantedMode, position, firstTarget, secondTarget);
+
+    if (shuffleboardEnabled) {
+      feedbackEntry.setString(selection.getFeedback());
+    } else {
+      System.out.println(selection.getFeedback());
+    }
+
+    return selection.createMode();
+  }
+
+  /** Returns every combination of the choosers, valid or not. */
+  public static List<Selection> getSelections() {
+    return List.of(SELECTIONS);
+  }
+
+  /** Looks up what the given combination of the choosers selects. */
+  public static Selection getSelection(
+      WantedMode wantedMode,
+      StartingPosition position,
+      WantedFirstTarget firstTarget,
+      WantedSecondTarget secondTarget) {
+    return SELECTIONS[getIndex(wantedMode, position, firstTarget, secondTarget)];
+  }
+
+  private static int getIndex(
+      WantedMode wantedMode,
+      StartingPosition position,
+      WantedFirstTarget firstTarget,
+      WantedSecondTarget secondTarget) {
+    int index = wantedMode.ordinal();
+    index = (index * StartingPosition.values().length) + position.ordinal();
+    index = (index * WantedFirstTarget.values().length) + firstTarget.ordinal();
+    return (index * WantedSecondTarget.values().length) + secondTarget.ordinal();
+  }
+
+  /** Works out what every combination of the choosers selects, once, when the robot starts. */
+  private static Selection[] createSelections() {
+    int count =
+        WantedMode.values().length
+            * StartingPosition.values().length
+            * WantedFirstTarget.values().length
+            * WantedSecondTarget.values().length;
+    Selection[] selections = new Selection[count];
+
+    for (WantedMode wantedMode : WantedMode.values()) {
+      for (StartingPosition position : StartingPosition.values()) {
+        for (WantedFirstTarget firstTarget : WantedFirstTarget.values()) {
+          for (WantedSecondTarget secondTarget : WantedSecondTarget.values()) {
+            selections[getIndex(wantedMode, position, firstTarget, secondTarget)] =
+                createSelection(wantedMode, position, firstTarget, secondTarget);
+          }
+        }
+      }
+    }
+
+    return selections;
+  }
+
+  private static Selection createSelection(
+      WantedMode wantedMode,
+      StartingPosition position,
+      WantedFirstTarget firstTarget,
+      WantedSecondTarget secondTarget) {
     switch (wantedMode) {
       case TEST_MODE:
-        mode = Optional.of(new MotionTestMode());
-        break;
+        return new Selection(
+            wantedMode,
+            position,
+            firstTarget,
+            secondTarget,
+            MotionTestMode.class,
+            unused -> new MotionTestMode(),
+            "");
       case DO_NOTHING:
-        mode = Optional.of(new DoNothingMode());
-        break;
-      case RUN_SELECTED_AUTO:
-        switch (position) {
-          case LEFT:
-          case RIGHT:
-            switch (firstTarget) {
-              case NEAR_SIDE_ROCKET:
-                switch (secondTarget) {
-                  case NEAR_SIDE_ROCKET:
-                    mode = Optional.of(new DualNearSideRocketMode(position));
-                    break;
-                  case FAR_SIDE_ROCKET:
-                    mode = Optional.of(new NearSideRocketAndFarSideRocket(position));
-                    break;
-                  case CARGO_BAY:
-                    mode = Optional.of(new NearSideRocketAndCargoBay(position));
-                    break;
-                  case NOTHING:
-                    mode = Optional.of(new NearSideRocketMode(position));
-                    break;
-                  default:
-                    mode = Optional.empty();
-                    break;
-                }
-                break;
-              case CARGO_BAY:
-                switch (secondTarget) {
-                  case NEAR_SIDE_ROCKET:
-                    mode = Optional.empty();
-                    invalidMessage = "CargoBayAndNearSideRocket is not implemented yet";
-                    break;
-                  case FAR_SIDE_ROCKET:
-                    mode = Optional.empty();
-                    invalidMessage = "CargoBayAndFarSideRocket is not implemented yet";
-                    break;
-                  case CARGO_BAY:
-                    mode = Optional.of(new DualCargoBayMode(position));
-                    break;
-                  case NOTHING:
-                    mode = Optional.of(new CargoBayMode(position));
-                    break;
-                  default:
-                    mode = Optional.empty();
-                    break;
-                }
-                break;
-              default:
-                mode = Optional.empty();
-                break;
-            }
-            break;
-          case CENTER:
-            switch (firstTarget) {
-              case NEAR_SIDE_ROCKET:
-                mode = Optional.empty();
-                invalidMessage = "Can not target rocket when starting from center";
-                break;
-              case CARGO_BAY:
-                switch (secondTarget) {
-                  case NEAR_SIDE_ROCKET:
-                    mode = Optional.empty();
-                    invalidMessage = "Can not target rocket when starting from center";
-                    break;
-                  case FAR_SIDE_ROCKET:
-                    mode = Optional.empty();
-                    invalidMessage = "Can not target rocket when starting from center";
-                    break;
-                  case CARGO_BAY:
-                    mode = Optional.of(new DualCargoBayMode(position));
-                    break;
-                  case NOTHING:
-                    mode = Optional.of(new CargoBayMode(position));
-                    break;
-                  default:
-                    mode = Optional.empty();
-                    break;
-                }
-                break;
-              default:
-                mode = Optional.empty();
-                break;
-            }
-            break;
-          default:
-            mode = Optional.empty();
-            break;
-        }
-        break;
+        return new Selection(
+            wantedMode,
+            position,
+            firstTarget,
+            secondTarget,
+            DoNothingMode.class,
+            unused -> new DoNothingMode(),
+            "");
+      case CHARACTERIZE_DRIVE:
+        return new Selection(
+            wantedMode,
+            position,
+            firstTarget,
+            secondTarget,
+            DriveCharacterizationMode.class,
+            unused -> new DriveCharacterizationMode(),
+            "");
       default:
-        mode = Optional.empty();
         break;
     }
 
-    if (shuffleboardEnabled) {
-      feedbackEntry.setString(
-          (mode.isEmpty() ? "Invalid config" : mode.get().getClass().getSimpleName())
-              + " for "
-              + position.toString()
-              + ". "
-              + invalidMessage);
-    } else {
-      System.out.println(
-          (mode.isEmpty() ? "Invalid config" : mode.get().getClass().getSimpleName())
-              + " for "
-              + position.toString()
-              + ". "
-              + invalidMessage);
+    if (position == StartingPosition.CENTER
+        && (firstTarget == WantedFirstTarget.NEAR_SIDE_ROCKET
+            || secondTarget == WantedSecondTarget.NEAR_SIDE_ROCKET
+            || secondTarget == WantedSecondTarget.FAR_SIDE_ROCKET)) {
+      return new Selection(
+          wantedMode,
+          position,
+          firstTarget,
+          secondTarget,
+          null,
+          null,
+          "Can not target rocket when starting from center");
     }
 
-    return mode;
+    if (firstTarget == WantedFirstTarget.NEAR_SIDE_ROCKET) {
+      switch (secondTarget) {
+        case NEAR_SIDE_ROCKET:
+          return new Selection(
+              wantedMode,
+              position,
+              firstTarget,
+              secondTarget,
+              DualNearSideRocketMode.class,
+              DualNearSideRocketMode::new,
+              "");
+        case FAR_SIDE_ROCKET:
+          return new Selection(
+              wantedMode,
+              position,
+              firstTarget,
+              secondTarget,
+              NearSideRocketAndFarSideRocket.class,
+              NearSideRocketAndFarSideRocket::new,
+              "");
+        case CARGO_BAY:
+          return new Selection(
+              wantedMode,
+              position,
+              firstTarget,
+              secondTarget,
+              NearSideRocketAndCargoBay.class,
+              NearSideRocketAndCargoBay::new,
+              "");
+        default:
+          return new Selection(
+              wantedMode,
+              position,
+              firstTarget,
+              secondTarget,
+              NearSideRocketMode.class,
+              NearSideRocketMode::new,
+              "");
+      }
+    }
+
+    switch (secondTarget) {
+      case NEAR_SIDE_ROCKET:
+        return new Selection(
+            wantedMode,
+            position,
+            firstTarget,
+            secondTarget,
+            null,
+            null,
+            "CargoBayAndNearSideRocket is not implemented yet");
+      case FAR_SIDE_ROCKET:
+        return new Selection(
+            wantedMode,
+            position,
+            firstTarget,
+            secondTarget,
+            null,
+            null,
+            "CargoBayAndFarSideRocket is not implemented yet");
+      case CARGO_BAY:
+        return new Selection(
+            wantedMode,
+            position,
+            firstTarget,
+            secondTarget,
+            DualCargoBayMode.class,
+            DualCargoBayMode::new,
+            "");
+      default:
+        return new Selection(
+            wantedMode,
+            position,
+            firstTarget,
+            secondTarget,
+            CargoBayMode.class,
+            CargoBayMode::new,
+            "");
+    }
   }
 
   public void reset() {
-    mode = Optional.empty();
+    selection++;
     cachedWantedMode = null;
   }
 
+  /** Returns the selected auto mode, or nothing if it is still being prebuilt. */
   public Optional<AutoModeBase> getAutoMode() {
-    if (!mode.isPresent()) {
-      return Optional.empty();
-    }
-    return Optional.of(mode.get());
+    PrebuiltMode prebuilt = prebuiltMode.get();
+    return prebuilt.selection == selection ? prebuilt.mode : Optional.empty();
   }
 }
@@ -18,6 +18,10 @@ public class Constants {
   public static final boolean DEBUG = true;
 
   public static final double TELEMETRY_RATE = 1.0 / 10.0;
+  public static final double ODOMETRY_PERIOD = 1.0 / 200.0;
+
+  // Runs auto actions from autonomousPeriodic instead of on a paced thread of their own.
+  public static final boolean RUN_AUTO_IN_ROBOT_LOOP = false;
 
   public static final double LEFT_FRONT_ANGLE_OFFSET =
       USING_COMPETITION_ROBOT ? /*106.17*/ 103.01 : -16.17;
@@ -37,5 +41,15 @@ public class Constants {
   public static final double SWERVE_MAX_ACCELERATION = 85.0;
   public static final double SWERVE_MAX_VELOCITY = 48.0;
 
+  // Every motor that is voltage compensated treats this as full output.
+  public static final double NOMINAL_VOLTAGE = 12.0;
+
+  // Swerve drive motor feedforward, in volts, volts per inch per second and volts per inch per
+  // second squared. These are estimates until the drive is characterized.
+  public static final double SWERVE_DRIVE_KS = 1.0;
+  public static final double SWERVE_DRIVE_KV = 0.08;
+  public static final double SWERVE_DRIVE_KA = 0.01;
+  public static final double SWERVE_VELOCITY_KP = 0.1;
+
   public static final double EXTENDED_LIMIT = 36.0;
 }
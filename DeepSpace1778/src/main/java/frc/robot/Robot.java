@@ -7,11 +7,17 @@ import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.shuffleboard.BuiltInWidgets;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
+import frc.lib.util.Clock;
 import frc.lib.util.DebugLog;
+import frc.lib.util.ModuleSignal;
 import frc.robot.auto.AutoModeBase;
 import frc.robot.auto.AutoModeExecutor;
+import frc.robot.auto.CompiledAutoPaths;
+import frc.robot.auto.CooperativeAutoModeExecutor;
+import frc.robot.auto.ThreadedAutoModeExecutor;
 import frc.robot.components.Elevator;
 import frc.robot.components.Manipulator;
+import frc.robot.components.Odometry;
 import frc.robot.components.SwerveDrive;
 import java.util.Optional;
 
@@ -27,9 +33,19 @@ public class Robot extends TimedRobot {
   private long lastTelemetryTime;
 
   private AutoModeSelector autoModeSelector = new AutoModeSelector();
-  private AutoModeExecutor autoModeExecutor;
+  private AutoModeExecutor autoModeExecutor =
+      Constants.RUN_AUTO_IN_ROBOT_LOOP
+          ? new CooperativeAutoModeExecutor()
+          : new ThreadedAutoModeExecutor();
+
+  // Used to report how long auto takes to command the drive after autonomousInit.
+  private long autoInitTime;
+  private long autoInitSentWrites;
+  private boolean autoFirstCommandReported;
 
   private SwerveDrive swerve = SwerveDrive.getInstance();
+  private Odometry odometry = Odometry.getInstance();
+  private ModuleSignal[] moduleSignals = SwerveDrive.createModuleSignals();
   private Controls controls = Controls.getInstance();
   private Elevator elevator = Elevator.getInstance();
   private Manipulator manipulator = Manipulator.getInstance();
@@ -53,6 +69,8 @@ public class Robot extends TimedRobot {
     try {
       DebugLog.logRobotInit();
 
+      odometry.start();
+      CompiledAutoPaths.load();
       autoModeSelector.updateModeCreator();
     } catch (Throwable t) {
       DebugLog.logThrowableCrash(t);
@@ -67,13 +85,11 @@ public class Robot extends TimedRobot {
 
       limelightTable.getEntry("pipeline").setDouble(0.0);
 
-      if (autoModeExecutor != null) {
-        autoModeExecutor.stop();
-      }
+      autoModeExecutor.stop();
+      autoModeExecutor.setAutoMode(null);
 
       autoModeSelector.reset();
       autoModeSelector.updateModeCreator();
-      autoModeExecutor = new AutoModeExecutor();
     } catch (Throwable t) {
       DebugLog.logThrowableCrash(t);
     }
@@ -87,6 +103,12 @@ public class Robot extends TimedRobot {
 
       limelightTable.getEntry("pipeline").setDouble(1.0);
 
+      autoInitTime = System.nanoTime();
+      autoInitSentWrites = swerve.getSentWrites();
+      autoFirstCommandReported = false;
+
+      autoModeSelector.waitForPrebuild();
+      autoModeExecutor.setAutoMode(autoModeSelector.getAutoMode().orElse(null));
       autoModeExecutor.start();
       DebugLog.logNote(
           String.format(
@@ -108,9 +130,7 @@ public class Robot extends TimedRobot {
       // elevator.setControlType(Elevator.ControlState.MOTION_MAGIC);
       // elevator.setTarget(elevator.getCurrentHeightEncoder());
 
-      if (autoModeExecutor != null) {
-        autoModeExecutor.stop();
-      }
+      autoModeExecutor.stop();
     } catch (Throwable t) {
       DebugLog.logThrowableCrash(t);
     }
@@ -129,6 +149,7 @@ public class Robot extends TimedRobot {
   @Override
   public void disabledPeriodic() {
     try {
+      swerve.readSensors();
       sendTelemetry();
 
       autoModeSelector.updateModeCreator();
@@ -145,8 +166,16 @@ public class Robot extends TimedRobot {
   @Override
   public void autonomousPeriodic() {
     try {
-      // teleopPeriodic();
-
+      swerve.readSensors();
+      autoModeExecutor.update();
+
+      if (!autoFirstCommandReported && swerve.getSentWrites() > autoInitSentWrites) {
+        autoFirstCommandReported = true;
+        DebugLog.logNote(
+            String.format(
+                "First auto drive command sent %.2f ms after autonomousInit",
+                (System.nanoTime() - autoInitTime) / 1.0e6));
+      }
     } catch (Throwable t) {
       DebugLog.logThrowableCrash(t);
     }
@@ -155,13 +184,15 @@ public class Robot extends TimedRobot {
   @Override
   public void teleopPeriodic() {
     try {
+      swerve.readSensors();
       sendTelemetry();
 
       if (controls.getResetFieldCentric()) {
-        swerve.getNavX().zeroYaw();
+        swerve.zeroSensors();
         swerve.resetEncoders();
       }
 
+      // Teleop stays open loop until the drive feedforward gains come from a characterization run.
       if (controls.getTranslationX() != 0
           || controls.getTranslationY() != 0
           || controls.getRotation() != 0) {
@@ -176,11 +207,15 @@ public class Robot extends TimedRobot {
           strafe = (-forward * Math.sin(angle)) + (strafe * Math.cos(angle));
           forward = temp;
 
-          swerve.setSignals(swerve.calculateModuleSignals(forward, strafe, controls.getRotation()));
+          swerve.calculateModuleSignals(forward, strafe, controls.getRotation(), moduleSignals);
+          swerve.setSignals(moduleSignals);
         } else {
-          swerve.setSignals(
-              swerve.calculateModuleSignals(
-                  controls.getTranslationY(), controls.getTranslationX(), controls.getRotation()));
+          swerve.calculateModuleSignals(
+              controls.getTranslationY(),
+              controls.getTranslationX(),
+              controls.getRotation(),
+              moduleSignals);
+          swerve.setSignals(moduleSignals);
         }
       } else {
         swerve.stop();
@@ -232,6 +267,7 @@ public class Robot extends TimedRobot {
   @Override
   public void testPeriodic() {
     try {
+      swerve.readSensors();
       sendTelemetry();
     } catch (Throwable t) {
       DebugLog.logThrowableCrash(t);
@@ -240,10 +276,11 @@ public class Robot extends TimedRobot {
 
   private void sendTelemetry() {
     long waitTime = (long) (Constants.TELEMETRY_RATE * 1000.0);
-    long currentTime = System.currentTimeMillis();
+    long currentTime = Clock.get().getMillis();
 
     if ((currentTime - lastTelemetryTime) > waitTime) {
       swerve.sendTelemetry(Constants.DEBUG);
+      odometry.sendTelemetry(Constants.DEBUG);
       manipulator.sendTelemetry(Constants.DEBUG);
       elevator.sendTelemetry(Constants.DEBUG);
       if (shuffleboardInitialized) {
@@ -0,0 +1,175 @@
+package frc.robot.auto;
+
+import frc.lib.util.Clock;
+import frc.lib.util.DebugLog;
+import frc.robot.auto.actions.Action;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Records when each action of an auto mode starts and ends, how many times it is updated, and the
+ * longest any one update takes. Records go into arrays allocated up front and wrap around once
+ * they are full, so profiling a routine never allocates. After a run the records can be written as
+ * a Chrome trace, which chrome://tracing or Perfetto shows as a timeline of the routine.
+ *
+ * <p>Each record is drawn on a lane. Actions run one after another share a lane, and each action
+ * in a group after the first gets a lane of its own, so actions that run at the same time never
+ * overlap on the timeline. Only one auto mode runs at a time, so the profiler is not thread safe.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class ActionProfiler {
+
+  private static final ActionProfiler instance =
+      new ActionProfiler(AutoConstants.PROFILER_CAPACITY);
+
+  private final String[] names;
+  private final long[] ids;
+  private final int[] lanes;
+  private final long[] startTimes;
+  private final long[] endTimes;
+  private final int[] ticks;
+  private final long[] maxUpdateTimes;
+
+  private long nextId;
+  private int lane;
+  private int laneCount;
+  private long startTime;
+
+  public static ActionProfiler getInstance() {
+    return instance;
+  }
+
+  /** Creates a profiler that keeps the given number of the latest records. */
+  public ActionProfiler(int capacity) {
+    names = new String[capacity];
+    ids = new long[capacity];
+    lanes = new int[capacity];
+    startTimes = new long[capacity];
+    endTimes = new long[capacity];
+    ticks = new int[capacity];
+    maxUpdateTimes = new long[capacity];
+    clear();
+  }
+
+  /** Forgets every record, ready for a new run. */
+  public void clear() {
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = -1;
+      names[i] = null;
+    }
+    nextId = 0;
+    lane = 0;
+    laneCount = 1;
+    startTime = Clock.get().getNanos();
+  }
+
+  /** Returns the lane that actions started from now on are recorded on. */
+  public int getLane() {
+    return lane;
+  }
+
+  public void setLane(int newLane) {
+    lane = newLane;
+  }
+
+  /** Returns a lane that no other action has been recorded on. */
+  public int newLane() {
+    return laneCount++;
+  }
+
+  /** Records that the action is starting, and returns the record to pass to the other methods. */
+  public long begin(Action action) {
+    long id = nextId++;
+    int slot = (int) (id % ids.length);
+    ids[slot] = id;
+    names[slot] = getName(action);
+    lanes[slot] = lane;
+    startTimes[slot] = Clock.get().getNanos();
+    endTimes[slot] = 0;
+    ticks[slot] = 0;
+    maxUpdateTimes[slot] = 0;
+    return id;
+  }
+
+  /** Returns the time an update is starting, to pass to {@link #endUpdate}. */
+  public long startUpdate() {
+    return Clock.get().getNanos();
+  }
+
+  /** Records an update of the action that started at the given time. */
+  public void endUpdate(long record, long updateStartTime) {
+    int slot = (int) (record % ids.length);
+    if (ids[slot] == record) {
+      ticks[slot]++;
+      maxUpdateTimes[slot] =
+          Math.max(maxUpdateTimes[slot], Clock.get().getNanos() - updateStartTime);
+    }
+  }
+
+  /** Records that the action has been done. */
+  public void end(long record) {
+    int slot = (int) (record % ids.length);
+    if (ids[slot] == record && endTimes[slot] == 0) {
+      endTimes[slot] = Math.max(Clock.get().getNanos(), startTimes[slot] + 1);
+    }
+  }
+
+  /** Returns the number of records kept, which is at most the capacity. */
+  public int getRecordCount() {
+    return (int) Math.min(nextId, ids.length);
+  }
+
+  /**
+   * Returns the records as a Chrome trace. Times are in microseconds from when the profiler was
+   * cleared, and actions still running are drawn up to now.
+   */
+  public String toChromeTrace() {
+    long now = Clock.get().getNanos();
+    StringBuilder trace = new StringBuilder("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+    long firstId = Math.max(0, nextId - ids.length);
+    for (long id = firstId; id < nextId; id++) {
+      int slot = (int) (id % ids.length);
+      boolean running = endTimes[slot] == 0;
+      long endTime = running ? now : endTimes[slot];
+      if (id > firstId) {
+        trace.append(',');
+      }
+      trace.append(
+          String.format(
+              "{\"name\":\"%s\",\"cat\":\"action\",\"ph\":\"X\",\"pid\":1,\"tid\":%d,"
+                  + "\"ts\":%.3f,\"dur\":%.3f,\"args\":{\"ticks\":%d,\"maxUpdateMs\":%.3f%s}}",
+              names[slot],
+              lanes[slot],
+              (startTimes[slot] - startTime) / 1.0e3,
+              (endTime - startTimes[slot]) / 1.0e3,
+              ticks[slot],
+              maxUpdateTimes[slot] / 1.0e6,
+              running ? ",\"running\":true" : ""));
+    }
+    return trace.append("]}").toString();
+  }
+
+  /** Writes the records as a Chrome trace to the given file, creating its folder if needed. */
+  public void writeChromeTrace(File file) {
+    try {
+      file.getParentFile().mkdirs();
+      Files.write(file.toPath(), toChromeTrace().getBytes(StandardCharsets.UTF_8));
+      DebugLog.logNote(
+          String.format("Wrote %d auto action records to %s", getRecordCount(), file));
+    } catch (IOException e) {
+      DebugLog.logThrowableCrash(e);
+    }
+  }
+
+  /** Names anonymous actions, such as most RunOnceActions, after the class they extend. */
+  private static String getName(Action action) {
+    Class<?> type = action.getClass();
+    while (type.isAnonymousClass()) {
+      type = type.getSuperclass() != Object.class ? type.getSuperclass() : type.getInterfaces()[0];
+    }
+    return type.getSimpleName();
+  }
+}
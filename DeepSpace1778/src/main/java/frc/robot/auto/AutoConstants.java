@@ -10,7 +10,41 @@ import frc.robot.Constants;
  */
 public class AutoConstants {
 
+  // Actions are updated at 50 Hz.
+  public static final double UPDATE_PERIOD = 1.0 / 50.0;
+
+  // Every auto mode has to be done by the end of the sandstorm period, in seconds.
+  public static final double SANDSTORM_DURATION = 15.0;
+
+  // Rotation per degree, per degree-second and per degree per second of heading error. KD is the
+  // 0.005 per sample the old 50 ms PIDController was tuned with, taken over its period.
   public static final double GYRO_AID_KP = 0.03;
   public static final double GYRO_AID_KI = 0.0;
-  public static final double GYRO_AID_KD = 0.005;
+  public static final double GYRO_AID_KD = 0.005 * 0.05;
+
+  // Degrees the path direction is turned back towards the path for each inch the robot is off it.
+  public static final double CROSS_TRACK_KP = 2.0;
+  public static final double MAX_CROSS_TRACK_CORRECTION = 30.0;
+
+  // How many times each path is tracked from end to end while the selected mode is prebuilt.
+  public static final int PREWARM_PASSES = 20;
+
+  // The profiler keeps this many of the latest action records, and writes them here after a run.
+  public static final int PROFILER_CAPACITY = 512;
+  public static final String PROFILER_TRACE_DIRECTORY = "/home/lvuser/autoTraces";
+
+  // Drive characterization samples at 200 Hz, and each log holds up to 20 seconds of samples.
+  public static final double CHARACTERIZATION_PERIOD = 1.0 / 200.0;
+  public static final int CHARACTERIZATION_LOG_CAPACITY = 4000;
+
+  // Volts per second for the quasi-static ramps, and volts for the steps. The ramps end at 7 volts,
+  // so the velocity gain is fitted across most of the drive's speed range, not just above kS.
+  public static final double CHARACTERIZATION_RAMP_RATE = 0.7;
+  public static final double CHARACTERIZATION_RAMP_DURATION = 10.0;
+  public static final double CHARACTERIZATION_STEP_VOLTAGE = 6.0;
+  public static final double CHARACTERIZATION_STEP_DURATION = 2.0;
+
+  // A characterization run stops early once the robot has driven this many inches, since the ramps
+  // would otherwise take it well over 20 feet.
+  public static final double CHARACTERIZATION_MAX_DISTANCE = 144.0;
 }
@@ -0,0 +1,144 @@
+package frc.robot.auto;
+
+import frc.lib.kinematics.Pose;
+import frc.lib.util.ModuleSignal;
+import frc.lib.util.SimpleUtil;
+import frc.robot.Robot;
+import frc.robot.components.Elevator;
+import frc.robot.components.Odometry;
+import frc.robot.components.SwerveDrive;
+
+/**
+ * The parts of the robot that auto actions command and read. The robot uses the real subsystems,
+ * and a simulation can swap in its own models so that the same actions run without a robot.
+ * Actions look this up when they are built, so it has to be swapped before a routine is built.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public abstract class AutoHardware {
+
+  /** The robot's own subsystems. */
+  public static final AutoHardware ROBOT = new RobotHardware();
+
+  private static volatile AutoHardware current = ROBOT;
+
+  /** Returns the hardware auto actions are using. */
+  public static AutoHardware get() {
+    return current;
+  }
+
+  /** Makes auto actions built from now on use the given hardware. */
+  public static void set(AutoHardware hardware) {
+    current = hardware;
+  }
+
+  /** Returns the gyro's heading, in degrees. */
+  public abstract double getAngle();
+
+  /** Zeros the gyro, as at the start of a match. */
+  public abstract void zeroGyro();
+
+  /** Returns the latest pose from the odometry. */
+  public abstract Pose getPose();
+
+  /** Zeros the distance every drive module has driven. */
+  public abstract void resetDriveDistances();
+
+  /**
+   * Returns how far the drive has driven since its distances were reset, in inches, leaving out
+   * the modules that have slipped the most.
+   */
+  public abstract double getDriveDistance();
+
+  /** Drives every module to the same distance, in inches, with motion magic. */
+  public abstract void setTargetDriveDistance(double distance);
+
+  /**
+   * Points the modules the way they need to drive for the chassis to move with the given forward,
+   * strafe and rotation, while the drive motors keep driving to their target distance.
+   */
+  public abstract void steer(double forward, double strafe, double rotation);
+
+  public abstract void stopDrive();
+
+  /** Moves the elevator to a height, in inches, with motion magic. */
+  public abstract void setElevatorHeight(double heightInches);
+
+  /** Returns whether the elevator is within the tolerance, in inches, of its target height. */
+  public abstract boolean isElevatorAtHeight(double tolerance);
+
+  /** Switches the limelight between tracking targets and being a driver camera, LEDs off. */
+  public abstract void setVisionTracking(boolean tracking);
+
+  private static class RobotHardware extends AutoHardware {
+
+    private final ModuleSignal[] signals = SwerveDrive.createModuleSignals();
+    private final double[] driveDistances = new double[4];
+
+    @Override
+    public double getAngle() {
+      return SwerveDrive.getInstance().getNavX().getAngle();
+    }
+
+    @Override
+    public void zeroGyro() {
+      SwerveDrive.getInstance().zeroSensors();
+    }
+
+    @Override
+    public Pose getPose() {
+      return Odometry.getInstance().getPose();
+    }
+
+    @Override
+    public void resetDriveDistances() {
+      SwerveDrive.getInstance().resetEncoders();
+    }
+
+    @Override
+    public double getDriveDistance() {
+      SwerveDrive swerve = SwerveDrive.getInstance();
+      driveDistances[0] = swerve.getLeftFrontModule().getDriveDistanceInches();
+      driveDistances[1] = swerve.getRightFrontModule().getDriveDistanceInches();
+      driveDistances[2] = swerve.getLeftBackModule().getDriveDistanceInches();
+      driveDistances[3] = swerve.getRightBackModule().getDriveDistanceInches();
+      return SimpleUtil.meanWithoutLowestOutliers(driveDistances, 2);
+    }
+
+    @Override
+    public void setTargetDriveDistance(double distance) {
+      SwerveDrive.getInstance().setTargetDistances(distance, distance, distance, distance);
+    }
+
+    @Override
+    public void steer(double forward, double strafe, double rotation) {
+      SwerveDrive swerve = SwerveDrive.getInstance();
+      swerve.calculateModuleSignals(forward, strafe, rotation, signals);
+      swerve.setTurnSignals(signals);
+    }
+
+    @Override
+    public void stopDrive() {
+      SwerveDrive.getInstance().stop();
+    }
+
+    @Override
+    public void setElevatorHeight(double heightInches) {
+      Elevator elevator = Elevator.getInstance();
+      elevator.setControlType(Elevator.ControlState.MOTION_MAGIC);
+      elevator.setTarget(elevator.getEncoderPositionFromHeight(heightInches));
+    }
+
+    @Override
+    public boolean isElevatorAtHeight(double tolerance) {
+      Elevator elevator = Elevator.getInstance();
+      return elevator.isCloseToTarget(elevator.getEncoderPositionFromHeight(tolerance));
+    }
+
+    @Override
+    public void setVisionTracking(boolean tracking) {
+      Robot.limelightTable.getEntry("camMode").setDouble(tracking ? 0.0 : 1.0);
+      Robot.limelightTable.getEntry("ledMode").setDouble(tracking ? 0.0 : 1.0);
+    }
+  }
+}
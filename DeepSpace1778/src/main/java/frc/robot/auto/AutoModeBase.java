@@ -1,8 +1,14 @@
 package frc.robot.auto;
 
 import edu.wpi.first.wpilibj.DriverStation;
+import frc.lib.pathing.Path;
 import frc.lib.util.DebugLog;
+import frc.lib.util.FixedRateScheduler;
 import frc.robot.auto.actions.Action;
+import frc.robot.auto.actions.FollowPathAction;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An abstract class that is the basis of the robot's autonomous routines. This is implemented in
@@ -12,16 +18,86 @@ import frc.robot.auto.actions.Action;
  */
 public abstract class AutoModeBase {
 
-  private double updateRate = 1.0 / 50.0;
-  private boolean active = false;
+  private final FixedRateScheduler scheduler = new FixedRateScheduler(AutoConstants.UPDATE_PERIOD);
+  private volatile boolean active = false;
+
+  private volatile List<Action> prebuiltActions;
+  private volatile List<Path> paths = List.of();
+
+  /**
+   * Returns the actions the mode runs, in order. Each call builds new actions, since an action is
+   * only run once. Both executors run this same list, either on a thread with {@link #runAction}
+   * or one step at a time from the robot loop.
+   */
+  public abstract List<Action> routine();
+
+  /**
+   * Builds the actions the routine runs and prewarms each of them, so that nothing has to be built
+   * or compiled when the mode starts. This is meant to be called off the main loop while the robot
+   * is disabled.
+   */
+  public void prebuild() {
+    List<Action> actions = build();
+    for (Action action : actions) {
+      action.prewarm();
+    }
+    prebuiltActions = actions;
+  }
+
+  /**
+   * Returns the actions built by {@link #prebuild}, or builds them now if the mode was never
+   * prebuilt. Actions are only run once, so the prebuilt actions are only handed out once.
+   */
+  public List<Action> takeActions() {
+    List<Action> actions = prebuiltActions;
+    prebuiltActions = null;
+    return actions != null ? actions : build();
+  }
+
+  /**
+   * Returns every path the routine follows, in the order it follows them, or nothing if its
+   * actions have not been built yet. The paths are collected from the {@link FollowPathAction}s,
+   * including those inside groups, each time {@link #prebuild} or {@link #takeActions} builds the
+   * routine, so they always match what the routine does.
+   */
+  public List<Path> getPaths() {
+    return paths;
+  }
+
+  /** Builds the routine's actions, and collects the paths they follow. */
+  private List<Action> build() {
+    List<Action> actions = routine();
+    List<Path> routinePaths = new ArrayList<>();
+    addPaths(actions, routinePaths);
+    paths = routinePaths;
+    return actions;
+  }
 
-  public abstract void routine() throws AutoModeEndedException;
+  private static void addPaths(List<Action> actions, List<Path> paths) {
+    for (Action action : actions) {
+      if (action instanceof FollowPathAction) {
+        paths.add(((FollowPathAction) action).getPath());
+      }
+      addPaths(action.getChildren(), paths);
+    }
+  }
 
   public void run() {
+    activate();
+    runActive();
+  }
+
+  /** Marks the mode as running, so that a {@link #stop} from now on ends it. */
+  void activate() {
     active = true;
+  }
 
+  /** Runs the prebuilt actions of a mode that has been activated, unless it has been stopped. */
+  void runActive() {
     try {
-      routine();
+      for (Action action : takeActions()) {
+        runAction(action);
+      }
     } catch (AutoModeEndedException e) {
       DriverStation.reportError("AutoMode ended early!", false);
       DebugLog.logThrowableCrash(e);
@@ -35,6 +111,15 @@ public abstract class AutoModeBase {
     System.out.println("AutoMode done");
   }
 
+  /** Writes the profile of the last run of this mode where it can be copied off the robot. */
+  public void writeProfile() {
+    ActionProfiler.getInstance()
+        .writeChromeTrace(
+            new File(
+                AutoConstants.PROFILER_TRACE_DIRECTORY,
+                getClass().getSimpleName() + ".json"));
+  }
+
   public void stop() {
     active = false;
   }
@@ -53,19 +138,31 @@ public abstract class AutoModeBase {
 
   public void runAction(Action action) throws AutoModeEndedException {
     isActiveWithThrow();
+    ActionProfiler profiler = ActionProfiler.getInstance();
+    long record = profiler.begin(action);
     action.start();
+    scheduler.start();
 
-    while (isActiveWithThrow() && !action.isFinished()) {
-      action.update();
-      long waitTime = (long) (updateRate * 1000.0);
-
-      try {
-        Thread.sleep(waitTime);
-      } catch (InterruptedException e) {
-        DebugLog.logThrowableCrash(e);
+    try {
+      while (isActiveWithThrow() && !action.isFinished()) {
+        long updateStartTime = profiler.startUpdate();
+        action.update();
+        profiler.endUpdate(record, updateStartTime);
+
+        try {
+          scheduler.waitForNextTick();
+        } catch (InterruptedException e) {
+          // The executor interrupts the routine to stop it.
+          stop();
+        }
       }
+    } finally {
+      action.done();
+      profiler.end(record);
     }
 
-    action.done();
+    if (scheduler.getStats().getTickCount() > 0) {
+      DebugLog.logNote(action.getClass().getSimpleName() + ": " + scheduler.getStats());
+    }
   }
 }
@@ -1,48 +1,23 @@
 package frc.robot.auto;
 
-import frc.lib.util.DebugLogRunnable;
-
 /**
- * Executes a chosen auto mode. By running an auto mode through this executor, it ensures that any
- * errors will be logged and can be safely terminated if need be.
+ * Runs the auto mode chosen for a match. The robot starts the mode when autonomous begins, stops
+ * it whenever the robot changes modes, and calls {@link #update} every loop in between.
  *
  * @author FRC 1778 Chill Out
  */
-public class AutoModeExecutor {
-
-  private AutoModeBase autoMode;
-  private Thread autoThread = null;
-
-  public void setAutoMode(AutoModeBase newAutoMode) {
-    autoMode = newAutoMode;
-    DebugLogRunnable runnableAutoMode =
-        new DebugLogRunnable() {
-          @Override
-          public void runCrashTracked() {
-            if (autoMode != null) {
-              autoMode.run();
-            }
-          }
-        };
+public interface AutoModeExecutor {
 
-    autoThread = new Thread(runnableAutoMode);
-  }
+  void setAutoMode(AutoModeBase newAutoMode);
 
-  public void start() {
-    if (autoThread != null) {
-      autoThread.start();
-    }
-  }
+  AutoModeBase getAutoMode();
 
-  public void stop() {
-    if (autoMode != null) {
-      autoMode.stop();
-    }
+  /** Starts running the auto mode from its first action. */
+  void start();
 
-    autoThread = null;
-  }
+  /** Ends the auto mode, including the action it is running. */
+  void stop();
 
-  public AutoModeBase getAutoMode() {
-    return autoMode;
-  }
+  /** Called every loop while the auto mode runs. */
+  void update();
 }
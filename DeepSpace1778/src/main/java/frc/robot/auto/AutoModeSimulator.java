@@ -0,0 +1,279 @@
+package frc.robot.auto;
+
+import frc.lib.kinematics.Pose;
+import frc.lib.kinematics.SwerveKinematics;
+import frc.lib.kinematics.SwerveOdometry;
+import frc.lib.pathing.CompiledPath;
+import frc.lib.pathing.Path;
+import frc.lib.sim.SimulatedElevator;
+import frc.lib.sim.SimulatedSwerveDrive;
+import frc.lib.util.Clock;
+import frc.lib.util.SimpleUtil;
+import frc.lib.util.VirtualClock;
+import frc.robot.AutoModeSelector;
+import frc.robot.AutoModeSelector.WantedMode;
+import frc.robot.Constants;
+import frc.robot.components.Elevator;
+import frc.robot.components.SwerveDrive;
+
+/**
+ * Runs an auto mode's routine against models of the drive and elevator instead of the robot, on a
+ * {@link VirtualClock} so a whole mode takes a fraction of a second. The mode's own actions are
+ * run by a {@link CooperativeAutoModeExecutor} the same way autonomousPeriodic runs them, so paths,
+ * waits, elevator moves and the order they run in are all simulated. The actions reach the models
+ * through {@link AutoHardware}, and the odometry runs at its own rate in between the loops, as it
+ * does on the robot.
+ *
+ * <p>Vision alignment and the hatch manipulator are not modelled, so routines that use them can
+ * not be simulated yet.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class AutoModeSimulator {
+
+  // The turn Talons' position loop swings a module around at roughly this many degrees a second.
+  private static final double MODULE_TURN_RATE = 720.0;
+
+  // A mode still running after this many seconds of match time is counted as never finishing.
+  private static final double TIMEOUT = 30.0;
+
+  /** How a simulated auto mode ended. */
+  public static class Result {
+    private final Pose pose;
+    private final Pose expectedPose;
+    private final double elapsedSeconds;
+    private final boolean finished;
+
+    Result(Pose pose, Pose expectedPose, double elapsedSeconds, boolean finished) {
+      this.pose = pose;
+      this.expectedPose = expectedPose;
+      this.elapsedSeconds = elapsedSeconds;
+      this.finished = finished;
+    }
+
+    /** Returns where the robot really ended up. */
+    public Pose getPose() {
+      return pose;
+    }
+
+    /** Returns where the mode's paths say the robot should have ended up. */
+    public Pose getExpectedPose() {
+      return expectedPose;
+    }
+
+    /** Returns how far, in inches, the robot ended up from where its paths end. */
+    public double getPositionError() {
+      return Math.hypot(
+          pose.getForward() - expectedPose.getForward(),
+          pose.getStrafe() - expectedPose.getStrafe());
+    }
+
+    /** Returns the match time the mode took, in seconds. */
+    public double getElapsedSeconds() {
+      return elapsedSeconds;
+    }
+
+    /** Returns whether the mode finished before it timed out. */
+    public boolean isFinished() {
+      return finished;
+    }
+
+    /** Returns whether the mode was done by the end of the sandstorm period. */
+    public boolean fitsInSandstorm() {
+      return elapsedSeconds <= AutoConstants.SANDSTORM_DURATION;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%s in %.2f s%s, ended at (%.1f, %.1f) facing %.1f, %.1f in from the end of its paths",
+          finished ? "finished" : "timed out",
+          elapsedSeconds,
+          fitsInSandstorm() ? "" : " (over the sandstorm)",
+          pose.getForward(),
+          pose.getStrafe(),
+          pose.getAngle(),
+          getPositionError());
+    }
+  }
+
+  private final SwerveKinematics kinematics = SwerveDrive.KINEMATICS;
+  private final int moduleCount = kinematics.getModuleCount();
+
+  private VirtualClock clock;
+  private SimulatedSwerveDrive drive;
+  private SimulatedElevator elevator;
+  private SwerveOdometry odometry;
+  private double gyroOffset;
+
+  private final double[] distances = new double[moduleCount];
+  private final double[] directions = new double[moduleCount];
+  private final double[] speeds = new double[moduleCount];
+  private final double[] angles = new double[moduleCount];
+
+  /** Simulates every combination the auto mode selector offers, and prints how each one ends. */
+  public static void main(String[] args) {
+    AutoModeSimulator simulator = new AutoModeSimulator();
+    for (AutoModeSelector.Selection selection : AutoModeSelector.getSelections()) {
+      if (selection.getWantedMode() != WantedMode.RUN_SELECTED_AUTO || !selection.isValid()) {
+        continue;
+      }
+
+      System.out.println(
+          selection.getModeType().getSimpleName()
+              + " from "
+              + selection.getPosition()
+              + ": "
+              + simulator.simulate(selection.createMode().get()));
+    }
+  }
+
+  /**
+   * Runs the mode's routine to the end, starting from the origin facing forward with the elevator
+   * at the bottom.
+   */
+  public Result simulate(AutoModeBase mode) {
+    clock = new VirtualClock();
+    drive =
+        new SimulatedSwerveDrive(
+            kinematics,
+            Constants.SWERVE_MAX_VELOCITY,
+            Constants.SWERVE_MAX_ACCELERATION,
+            MODULE_TURN_RATE);
+    elevator = new SimulatedElevator(Elevator.MAX_VELOCITY, Elevator.MAX_ACCELERATION);
+    odometry = new SwerveOdometry(kinematics);
+    gyroOffset = 0.0;
+    updateOdometry();
+
+    Clock robotClock = Clock.get();
+    AutoHardware robotHardware = AutoHardware.get();
+    Clock.set(clock);
+    AutoHardware.set(new SimulatedHardware());
+    boolean finished;
+    try {
+      finished = run(mode);
+    } finally {
+      Clock.set(robotClock);
+      AutoHardware.set(robotHardware);
+    }
+
+    double expectedForward = 0.0;
+    double expectedStrafe = 0.0;
+    double expectedAngle = 0.0;
+    for (Path path : mode.getPaths()) {
+      CompiledPath compiledPath = CompiledAutoPaths.get(path);
+      expectedForward += compiledPath.getForwardPositionAtDistance(compiledPath.getLength());
+      expectedStrafe += compiledPath.getStrafePositionAtDistance(compiledPath.getLength());
+      expectedAngle = compiledPath.getAngleAtDistance(compiledPath.getLength());
+    }
+
+    double elapsedSeconds = clock.getSeconds();
+    return new Result(
+        drive.getPose(elapsedSeconds),
+        new Pose(expectedForward, expectedStrafe, expectedAngle, elapsedSeconds),
+        elapsedSeconds,
+        finished);
+  }
+
+  /**
+   * Runs the routine one loop at a time, moving the models and the odometry forward in between.
+   * A mode that times out is left running rather than stopped, since stopping writes its profile.
+   */
+  private boolean run(AutoModeBase mode) {
+    CooperativeAutoModeExecutor executor = new CooperativeAutoModeExecutor();
+    int odometrySteps = (int) Math.round(AutoConstants.UPDATE_PERIOD / Constants.ODOMETRY_PERIOD);
+    long odometryNanos = Math.round(Constants.ODOMETRY_PERIOD * 1.0e9);
+
+    executor.setAutoMode(mode);
+    executor.start();
+    while (clock.getSeconds() < TIMEOUT) {
+      executor.update();
+      if (!executor.isRunning()) {
+        return true;
+      }
+
+      for (int i = 0; i < odometrySteps; i++) {
+        drive.step(Constants.ODOMETRY_PERIOD);
+        elevator.step(Constants.ODOMETRY_PERIOD);
+        clock.advance(odometryNanos);
+        updateOdometry();
+      }
+    }
+
+    return false;
+  }
+
+  private void updateOdometry() {
+    for (int i = 0; i < moduleCount; i++) {
+      distances[i] = drive.getDistance(i);
+      directions[i] = drive.getDirection(i);
+    }
+    odometry.update(clock.getSeconds(), drive.getAngle() - gyroOffset, distances, directions);
+  }
+
+  /** The models, standing in for the robot's subsystems while a mode is simulated. */
+  private class SimulatedHardware extends AutoHardware {
+
+    private final double[] driveDistances = new double[moduleCount];
+
+    @Override
+    public double getAngle() {
+      return drive.getAngle() - gyroOffset;
+    }
+
+    @Override
+    public void zeroGyro() {
+      odometry.resetAngle();
+      gyroOffset = drive.getAngle();
+    }
+
+    @Override
+    public Pose getPose() {
+      return odometry.getPose();
+    }
+
+    @Override
+    public void resetDriveDistances() {
+      odometry.resetDistances();
+      drive.resetDistances();
+    }
+
+    @Override
+    public double getDriveDistance() {
+      for (int i = 0; i < moduleCount; i++) {
+        driveDistances[i] = drive.getDistance(i);
+      }
+      return SimpleUtil.meanWithoutLowestOutliers(driveDistances, 2);
+    }
+
+    @Override
+    public void setTargetDriveDistance(double distance) {
+      drive.setTargetDistance(distance);
+    }
+
+    @Override
+    public void steer(double forward, double strafe, double rotation) {
+      kinematics.toModuleStates(
+          forward, strafe, rotation / kinematics.getMaxModuleRadius(), speeds, angles);
+      drive.setTargetDirections(angles);
+    }
+
+    @Override
+    public void stopDrive() {
+      drive.stop();
+    }
+
+    @Override
+    public void setElevatorHeight(double heightInches) {
+      elevator.setTargetHeight(heightInches);
+    }
+
+    @Override
+    public boolean isElevatorAtHeight(double tolerance) {
+      return Math.abs(elevator.getTargetHeight() - elevator.getHeight()) < tolerance;
+    }
+
+    @Override
+    public void setVisionTracking(boolean tracking) {}
+  }
+}
@@ -0,0 +1,112 @@
+package frc.robot.auto;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.lib.pathing.CompiledPath;
+import frc.lib.pathing.CompiledPathFile;
+import frc.lib.pathing.Path;
+import frc.lib.util.DebugLog;
+import frc.lib.util.SimpleUtil;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Provides the compiled form of each path in {@link AutoPaths}. Every path is compiled by the
+ * compileAutoPaths Gradle task before the code is deployed, and the resulting file is loaded from
+ * the deploy directory when the robot starts so that no path has to be sampled on the robot. Any
+ * path missing from the file, or that no longer matches it, is compiled on the robot instead. Only
+ * the right side paths are stored, since each left side path is a mirrored view of one of them.
+ *
+ * <p>Compiled paths are cached the first time they are asked for, so the paths of the selected auto
+ * mode are compiled when its actions are prebuilt while the robot is disabled.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class CompiledAutoPaths {
+
+  public static final String FILE_NAME = "autoPaths.bin";
+
+  private static Map<String, CompiledPath> loadedPaths = new HashMap<>();
+  private static final Map<Path, CompiledPath> compiledPaths = new IdentityHashMap<>();
+
+  /** Compiles every path in AutoPaths into the file given as the first argument. */
+  public static void main(String[] args) throws IOException {
+    Map<String, CompiledPath> paths = new LinkedHashMap<>();
+    for (AutoPaths.Route route : AutoPaths.Route.values()) {
+      Path path = AutoPaths.get(route, AutoPaths.Side.RIGHT);
+      paths.put(AutoPaths.getName(path), new CompiledPath(path));
+    }
+
+    CompiledPathFile.write(new File(args[0]), paths);
+    System.out.println("Compiled " + paths.size() + " auto paths into " + args[0]);
+  }
+
+  public static void load() {
+    load(new File(Filesystem.getDeployDirectory(), FILE_NAME));
+  }
+
+  public static void load(File file) {
+    long startTime = System.nanoTime();
+
+    Map<String, CompiledPath> paths;
+    try {
+      paths = CompiledPathFile.read(file);
+    } catch (IOException e) {
+      DriverStation.reportWarning("Compiled auto paths could not be loaded: " + e, false);
+      paths = new HashMap<>();
+    }
+
+    synchronized (CompiledAutoPaths.class) {
+      loadedPaths = paths;
+      compiledPaths.clear();
+    }
+    DebugLog.logNote(
+        String.format(
+            "Loaded %d compiled auto paths in %.2f ms",
+            paths.size(), (System.nanoTime() - startTime) / 1.0e6));
+  }
+
+  public static synchronized CompiledPath get(Path path) {
+    String name = AutoPaths.getName(path);
+    if (name == null) {
+      // Left side paths are mirrored views, so they share the compiled right side path as well.
+      return AutoPaths.getName(path.getFlipped()) != null
+          ? get(path.getFlipped()).getFlipped()
+          : new CompiledPath(path);
+    }
+
+    CompiledPath compiledPath = compiledPaths.get(path);
+    if (compiledPath == null) {
+      compiledPath = loadedPaths.get(name);
+      if (compiledPath == null || !matches(compiledPath, path)) {
+        compiledPath = new CompiledPath(path);
+      }
+      compiledPaths.put(path, compiledPath);
+    }
+    return compiledPath;
+  }
+
+  private static boolean matches(CompiledPath compiledPath, Path path) {
+    if (Math.abs(compiledPath.getLength() - path.getLength()) > 0.001) {
+      return false;
+    }
+
+    for (double percentage = 0.0; percentage <= 1.0; percentage += 0.25) {
+      double distance = percentage * path.getLength();
+      double directionError =
+          compiledPath.getDirectionAtDistance(distance) - path.getDirectionAtDistance(distance);
+      double angleError =
+          SimpleUtil.getContinuousInRange(
+              compiledPath.getAngleAtDistance(distance) - path.getAngleAtDistance(distance), 360.0);
+      if (Math.abs(directionError) > 1.0 || Math.abs(angleError) > 1.0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
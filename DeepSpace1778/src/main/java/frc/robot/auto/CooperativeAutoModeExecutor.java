@@ -0,0 +1,137 @@
+package frc.robot.auto;
+
+import frc.lib.util.DebugLog;
+import frc.robot.auto.actions.Action;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes a chosen auto mode one step at a time from the robot loop instead of on a thread of its
+ * own. Each call to {@link #update} from autonomousPeriodic runs the current action once, so the
+ * actions never run at the same time as the rest of the robot code and never need to be
+ * synchronized with it. Both executors run the same list of actions from {@link
+ * AutoModeBase#routine}, which is usually built while the robot is disabled.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class CooperativeAutoModeExecutor implements AutoModeExecutor {
+
+  private AutoModeBase autoMode;
+  private List<Action> actions = List.of();
+  private int nextAction;
+  private Action currentAction;
+  private long currentRecord;
+  private boolean running;
+  private AutoModeBase profiledMode;
+
+  private final ActionProfiler profiler = ActionProfiler.getInstance();
+
+  private final ExecutorService profileWriter =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "AutoProfileWriter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+  private Future<?> profileWrite;
+
+  @Override
+  public void setAutoMode(AutoModeBase newAutoMode) {
+    autoMode = newAutoMode;
+  }
+
+  /** Takes the actions of the auto mode's routine, which are usually prebuilt while disabled. */
+  @Override
+  public void start() {
+    actions = autoMode != null ? autoMode.takeActions() : List.of();
+    nextAction = 0;
+    currentAction = null;
+    running = autoMode != null;
+    profiledMode = autoMode;
+    waitForProfileWrite();
+    profiler.clear();
+  }
+
+  /**
+   * Ends the current action, and writes the profile of the run on a low priority thread of its
+   * own, so the file is not written from the main loop.
+   */
+  @Override
+  public void stop() {
+    if (currentAction != null) {
+      currentAction.done();
+      profiler.end(currentRecord);
+      currentAction = null;
+    }
+
+    running = false;
+    if (profiledMode != null) {
+      profileWrite = profileWriter.submit(profiledMode::writeProfile);
+      profiledMode = null;
+    }
+  }
+
+  /**
+   * Runs the current action once. Actions that finish straight away, such as {@link
+   * frc.robot.auto.actions.RunOnceAction}, are done in the same loop, and the next action is
+   * started as soon as the last one finishes.
+   */
+  @Override
+  public void update() {
+    while (running) {
+      if (currentAction == null) {
+        if (nextAction >= actions.size()) {
+          running = false;
+          autoMode.done();
+          return;
+        }
+
+        currentAction = actions.get(nextAction++);
+        currentRecord = profiler.begin(currentAction);
+        currentAction.start();
+      }
+
+      if (currentAction.isFinished()) {
+        currentAction.done();
+        profiler.end(currentRecord);
+        currentAction = null;
+        continue;
+      }
+
+      long updateStartTime = profiler.startUpdate();
+      currentAction.update();
+      profiler.endUpdate(currentRecord, updateStartTime);
+      return;
+    }
+  }
+
+  /**
+   * Waits for the profile of the last run to be written before the profiler is cleared, since the
+   * profiler is not thread safe. The write is long done by the time another run starts.
+   */
+  private void waitForProfileWrite() {
+    if (profileWrite == null) {
+      return;
+    }
+
+    try {
+      profileWrite.get();
+    } catch (InterruptedException | ExecutionException e) {
+      DebugLog.logThrowableCrash(e);
+    }
+    profileWrite = null;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public AutoModeBase getAutoMode() {
+    return autoMode;
+  }
+}
@@ -0,0 +1,128 @@
+package frc.robot.auto;
+
+import frc.lib.util.DebugLog;
+import frc.lib.util.DebugLogRunnable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Executes a chosen auto mode on a thread of its own. By running an auto mode through this
+ * executor, it ensures that any errors will be logged and can be safely terminated if need be.
+ *
+ * <p>Auto modes run on a single worker thread that is started with the executor and lives as long
+ * as the robot code does, so no thread is created when a match starts. Starting a mode hands it to
+ * the worker through a queue. Stopping a mode stops it and interrupts the worker, which ends the
+ * action it is running and goes back to waiting for the next mode. Closing the executor ends the
+ * worker for good.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class ThreadedAutoModeExecutor implements AutoModeExecutor {
+
+  private final BlockingQueue<AutoModeBase> handoff = new ArrayBlockingQueue<>(1);
+  private final Object lock = new Object();
+  private final Thread worker;
+  private volatile boolean closed;
+
+  private AutoModeBase autoMode;
+  private AutoModeBase startedMode;
+  private AutoModeBase runningMode;
+
+  public ThreadedAutoModeExecutor() {
+    worker =
+        new Thread(
+            new DebugLogRunnable() {
+              @Override
+              public void runCrashTracked() {
+                runModes();
+              }
+            },
+            "AutoModeExecutor");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @Override
+  public void setAutoMode(AutoModeBase newAutoMode) {
+    autoMode = newAutoMode;
+  }
+
+  @Override
+  public void start() {
+    if (autoMode != null) {
+      synchronized (lock) {
+        startedMode = autoMode;
+        handoff.clear();
+        handoff.offer(autoMode);
+      }
+    }
+  }
+
+  @Override
+  public void stop() {
+    synchronized (lock) {
+      startedMode = null;
+      handoff.clear();
+      if (runningMode != null) {
+        runningMode.stop();
+        worker.interrupt();
+      }
+    }
+  }
+
+  /** Stops any running mode, then ends the worker and waits for it to exit. */
+  public void close() {
+    stop();
+    closed = true;
+    worker.interrupt();
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Does nothing, since the auto mode runs on its own thread. */
+  @Override
+  public void update() {}
+
+  @Override
+  public AutoModeBase getAutoMode() {
+    return autoMode;
+  }
+
+  private void runModes() {
+    while (!closed) {
+      AutoModeBase mode;
+      try {
+        mode = handoff.take();
+      } catch (InterruptedException e) {
+        // A stop that came in between modes, or the executor closing; there is nothing to end.
+        continue;
+      }
+
+      synchronized (lock) {
+        if (mode != startedMode) {
+          continue;
+        }
+        // Activating the mode here means a stop can not be missed before the routine starts.
+        runningMode = mode;
+        mode.activate();
+      }
+
+      try {
+        ActionProfiler.getInstance().clear();
+        mode.runActive();
+        mode.writeProfile();
+      } catch (Throwable t) {
+        DebugLog.logThrowableCrash(t);
+      }
+
+      synchronized (lock) {
+        runningMode = null;
+        // Clear any interrupt from a stop that came in after the routine had already ended.
+        Thread.interrupted();
+      }
+    }
+  }
+}
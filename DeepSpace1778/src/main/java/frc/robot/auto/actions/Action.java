@@ -1,6 +1,7 @@
 package frc.robot.auto.actions;
 
 import frc.robot.auto.AutoModeBase;
+import java.util.List;
 
 /**
  * An interface for any action. Actions are called by using {@link AutoModeBase#runAction}.
@@ -15,4 +16,15 @@ public interface Action {
   void done();
 
   void start();
+
+  /**
+   * Runs the calculations the action will make while it runs, without commanding anything, so the
+   * classes they use are loaded and compiled before the action is started.
+   */
+  default void prewarm() {}
+
+  /** Returns the actions this action runs, if it is made up of other actions. */
+  default List<Action> getChildren() {
+    return List.of();
+  }
 }
@@ -0,0 +1,102 @@
+package frc.robot.auto.actions;
+
+import frc.robot.auto.ActionProfiler;
+import java.util.List;
+
+/**
+ * Runs a group of actions at the same time. Each child is started with the group and updated once
+ * per update of the group until it finishes, at which point it is done straight away and never
+ * updated again. Subclasses decide when the group as a whole is finished; any children still
+ * running then are done along with the group. Groups are actions themselves, so they can be nested
+ * inside each other and inside a {@link SeriesAction} to build up a routine.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public abstract class ActionGroup implements Action {
+
+  private final Action[] actions;
+  private final boolean[] finished;
+  private int runningCount;
+
+  private final ActionProfiler profiler = ActionProfiler.getInstance();
+  private final long[] records;
+
+  protected ActionGroup(List<Action> actions) {
+    this.actions = actions.toArray(new Action[0]);
+    finished = new boolean[this.actions.length];
+    records = new long[this.actions.length];
+  }
+
+  /** Starts every child, each on its own lane of the profile after the first. */
+  @Override
+  public void start() {
+    int lane = profiler.getLane();
+    runningCount = actions.length;
+    for (int i = 0; i < actions.length; i++) {
+      finished[i] = false;
+      profiler.setLane(i == 0 ? lane : profiler.newLane());
+      records[i] = profiler.begin(actions[i]);
+      actions[i].start();
+      finishIfDone(i);
+    }
+    profiler.setLane(lane);
+  }
+
+  @Override
+  public void update() {
+    for (int i = 0; i < actions.length && !isFinished(); i++) {
+      if (!finished[i]) {
+        long updateStartTime = profiler.startUpdate();
+        actions[i].update();
+        profiler.endUpdate(records[i], updateStartTime);
+        finishIfDone(i);
+      }
+    }
+  }
+
+  /** Ends any children that are still running. */
+  @Override
+  public void done() {
+    for (int i = 0; i < actions.length; i++) {
+      if (!finished[i]) {
+        actions[i].done();
+        profiler.end(records[i]);
+        finished[i] = true;
+      }
+    }
+    runningCount = 0;
+  }
+
+  @Override
+  public void prewarm() {
+    for (Action action : actions) {
+      action.prewarm();
+    }
+  }
+
+  @Override
+  public List<Action> getChildren() {
+    return List.of(actions);
+  }
+
+  protected int getChildCount() {
+    return actions.length;
+  }
+
+  protected int getRunningCount() {
+    return runningCount;
+  }
+
+  protected boolean isChildFinished(int index) {
+    return finished[index];
+  }
+
+  private void finishIfDone(int index) {
+    if (actions[index].isFinished()) {
+      actions[index].done();
+      profiler.end(records[index]);
+      finished[index] = true;
+      runningCount--;
+    }
+  }
+}
@@ -1,8 +1,7 @@
 package frc.robot.auto.actions;
 
-import edu.wpi.first.wpilibj.PIDController;
-import edu.wpi.first.wpilibj.PIDSource;
-import edu.wpi.first.wpilibj.PIDSourceType;
+import frc.lib.util.HeadingController;
+import frc.lib.util.ModuleSignal;
 import frc.robot.Robot;
 import frc.robot.auto.AutoConstants;
 import frc.robot.components.SwerveDrive;
@@ -16,38 +15,16 @@ public class AlignWithTargetAction implements Action {
   private double translationX;
   private double widthOfTarget;
 
-  private PIDSource navXSource =
-      new PIDSource() {
-        @Override
-        public void setPIDSourceType(PIDSourceType pidSource) {}
-
-        @Override
-        public double pidGet() {
-          return swerve.getNavX().getAngle();
-        }
-
-        @Override
-        public PIDSourceType getPIDSourceType() {
-          return PIDSourceType.kDisplacement;
-        }
-      };
-
-  private PIDController anglePid =
-      new PIDController(
+  private HeadingController headingController =
+      new HeadingController(
           AutoConstants.GYRO_AID_KP,
           AutoConstants.GYRO_AID_KI,
           AutoConstants.GYRO_AID_KD,
-          navXSource,
-          output -> angleCorrection = output);
-
-  private double angleCorrection;
+          AutoConstants.UPDATE_PERIOD);
+  private ModuleSignal[] signals = SwerveDrive.createModuleSignals();
 
   public AlignWithTargetAction(double targetAngle) {
-    anglePid.setInputRange(0, 360);
-    anglePid.setOutputRange(-1.0, 1.0);
-    anglePid.setContinuous(true);
-    anglePid.setSetpoint(targetAngle);
-    anglePid.enable();
+    headingController.setTargetAngle(targetAngle);
   }
 
   @Override
@@ -64,9 +41,12 @@ public class AlignWithTargetAction implements Action {
 
     isCloseToTarget = !isCloseToTarget ? widthOfTarget >= 250 : isCloseToTarget;
 
-    swerve.setSignals(
-        swerve.calculateModuleSignals(
-            (((320.0 - widthOfTarget) / 320) * 0.5) + 0.2, -translationX * 0.005, angleCorrection));
+    swerve.calculateModuleSignals(
+        (((320.0 - widthOfTarget) / 320) * 0.5) + 0.2,
+        -translationX * 0.005,
+        headingController.update(swerve.getNavX().getAngle()),
+        signals);
+    swerve.setSignals(signals);
   }
 
   @Override
@@ -78,6 +58,7 @@ public class AlignWithTargetAction implements Action {
 
   @Override
   public void start() {
+    headingController.reset();
     Robot.limelightTable.getEntry("camMode").setDouble(0.0);
     Robot.limelightTable.getEntry("ledMode").setDouble(0.0);
   }
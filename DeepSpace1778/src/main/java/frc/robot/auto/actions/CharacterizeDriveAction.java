@@ -0,0 +1,155 @@
+package frc.robot.auto.actions;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import frc.lib.characterization.CharacterizationLog;
+import frc.lib.util.DebugLog;
+import frc.lib.util.ModuleSensors;
+import frc.robot.Constants;
+import frc.robot.auto.AutoConstants;
+import frc.robot.components.SwerveDrive;
+import frc.robot.components.SwerveModule;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives every swerve module straight at a voltage that either ramps up slowly from zero or steps
+ * straight to a fixed value, and logs the voltage, average distance and average velocity of the
+ * modules on a notifier much faster than the auto loop. The run ends early if the robot drives
+ * further than it has room for. The log is written to the robot on a low priority thread once the
+ * run is over, to be fitted with {@link frc.lib.characterization.FeedforwardFitter}. The modules
+ * should already be pointing in the direction to drive.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class CharacterizeDriveAction implements Action {
+
+  private static final File LOG_DIRECTORY = new File("/home/lvuser/characterization");
+
+  private static final ExecutorService LOG_WRITER =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "CharacterizationLogWriter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  private SwerveDrive swerve = SwerveDrive.getInstance();
+  private SwerveModule[] modules = {
+    swerve.getLeftFrontModule(),
+    swerve.getRightFrontModule(),
+    swerve.getLeftBackModule(),
+    swerve.getRightBackModule()
+  };
+  private ModuleSensors[] readings = {
+    new ModuleSensors(), new ModuleSensors(), new ModuleSensors(), new ModuleSensors()
+  };
+
+  private final String name;
+  private final double rampRate;
+  private final double stepVoltage;
+  private final double duration;
+
+  private final CharacterizationLog log =
+      new CharacterizationLog(AutoConstants.CHARACTERIZATION_LOG_CAPACITY);
+  // Created when the action starts, since a notifier holds a thread until it is closed.
+  private Notifier notifier;
+
+  private volatile double startTime;
+  private volatile double distanceDriven;
+  private double startPosition = Double.NaN;
+  private double appliedVoltage;
+
+  private CharacterizeDriveAction(
+      String name, double rampRate, double stepVoltage, double duration) {
+    this.name = name;
+    this.rampRate = rampRate;
+    this.stepVoltage = stepVoltage;
+    this.duration = duration;
+  }
+
+  /** Ramps the voltage up from zero, in volts per second. Use a negative rate to reverse. */
+  public static CharacterizeDriveAction quasiStatic(String name, double rampRate, double duration) {
+    return new CharacterizeDriveAction(name, rampRate, 0.0, duration);
+  }
+
+  /** Holds a fixed voltage from the start. Use a negative voltage to reverse. */
+  public static CharacterizeDriveAction stepVoltage(String name, double voltage, double duration) {
+    return new CharacterizeDriveAction(name, 0.0, voltage, duration);
+  }
+
+  @Override
+  public void start() {
+    log.clear();
+    distanceDriven = 0.0;
+    startPosition = Double.NaN;
+    appliedVoltage = 0.0;
+    startTime = Timer.getFPGATimestamp();
+    notifier = new Notifier(this::sample);
+    notifier.startPeriodic(AutoConstants.CHARACTERIZATION_PERIOD);
+  }
+
+  @Override
+  public void update() {}
+
+  @Override
+  public boolean isFinished() {
+    return Timer.getFPGATimestamp() - startTime >= duration
+        || distanceDriven >= AutoConstants.CHARACTERIZATION_MAX_DISTANCE;
+  }
+
+  @Override
+  public void done() {
+    if (notifier != null) {
+      notifier.stop();
+      notifier.close();
+      notifier = null;
+    }
+    swerve.stop();
+
+    LOG_WRITER.execute(this::writeLog);
+  }
+
+  private void writeLog() {
+    File file = new File(LOG_DIRECTORY, name + ".bin");
+    try {
+      log.write(file);
+      DebugLog.logNote(
+          String.format("Wrote %d characterization samples to %s", log.getSize(), file));
+    } catch (IOException e) {
+      DebugLog.logThrowableCrash(e);
+    }
+  }
+
+  private void sample() {
+    double timestamp = Timer.getFPGATimestamp();
+    double position = 0.0;
+    double velocity = 0.0;
+    for (int i = 0; i < modules.length; i++) {
+      modules[i].readSensors(readings[i]);
+      position += modules[i].getDriveDistanceInches(readings[i]);
+      velocity += modules[i].getDistanceFromEncoderPosition(readings[i].getDriveVelocity() * 10.0);
+    }
+
+    position /= modules.length;
+    if (Double.isNaN(startPosition)) {
+      startPosition = position;
+    }
+    distanceDriven = Math.abs(position - startPosition);
+
+    // The readings were taken while the last voltage was applied, so they are logged with it.
+    log.add(timestamp, appliedVoltage, position, velocity / modules.length);
+
+    double voltage = (rampRate * (timestamp - startTime)) + stepVoltage;
+    appliedVoltage =
+        Math.max(-Constants.NOMINAL_VOLTAGE, Math.min(voltage, Constants.NOMINAL_VOLTAGE));
+
+    // The drive Talons are voltage compensated, so this is the voltage they apply.
+    for (SwerveModule module : modules) {
+      module.setDrivePower(appliedVoltage / Constants.NOMINAL_VOLTAGE);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package frc.robot.auto.actions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes actions in parallel with a deadline action, and finishes when the deadline action does.
+ * The other actions may finish before it, but any still running when it finishes are done with it.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class DeadlineAction extends ActionGroup {
+
+  public DeadlineAction(Action deadline, List<Action> actions) {
+    super(withDeadline(deadline, actions));
+  }
+
+  private static List<Action> withDeadline(Action deadline, List<Action> actions) {
+    List<Action> all = new ArrayList<>(actions.size() + 1);
+    all.add(deadline);
+    all.addAll(actions);
+    return all;
+  }
+
+  @Override
+  public boolean isFinished() {
+    return isChildFinished(0);
+  }
+}
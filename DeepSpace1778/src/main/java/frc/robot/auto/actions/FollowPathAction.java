@@ -1,57 +1,46 @@
 package frc.robot.auto.actions;
 
-import edu.wpi.first.wpilibj.PIDController;
-import edu.wpi.first.wpilibj.PIDSource;
-import edu.wpi.first.wpilibj.PIDSourceType;
+import frc.lib.kinematics.Pose;
+import frc.lib.pathing.CompiledPath;
 import frc.lib.pathing.Path;
-import frc.lib.util.SimpleUtil;
+import frc.lib.pathing.PathFollower;
+import frc.lib.util.HeadingController;
 import frc.robot.auto.AutoConstants;
-import frc.robot.components.SwerveDrive;
+import frc.robot.auto.AutoHardware;
+import frc.robot.auto.CompiledAutoPaths;
 
 public class FollowPathAction implements Action {
 
-  private SwerveDrive swerve = SwerveDrive.getInstance();
-  private Path path;
+  private AutoHardware hardware = AutoHardware.get();
+  private Path sourcePath;
+  private CompiledPath path;
+  private PathFollower follower;
   private boolean hasReset = false;
 
-  private PIDSource navXSource =
-      new PIDSource() {
-        @Override
-        public void setPIDSourceType(PIDSourceType pidSource) {}
+  private Pose startPose = Pose.ORIGIN;
 
-        @Override
-        public double pidGet() {
-          return swerve.getNavX().getAngle();
-        }
-
-        @Override
-        public PIDSourceType getPIDSourceType() {
-          return PIDSourceType.kDisplacement;
-        }
-      };
-
-  private PIDController anglePid =
-      new PIDController(
+  private HeadingController headingController =
+      new HeadingController(
           AutoConstants.GYRO_AID_KP,
           AutoConstants.GYRO_AID_KI,
           AutoConstants.GYRO_AID_KD,
-          navXSource,
-          output -> angleCorrection = output);
-
-  private double angleCorrection;
+          AutoConstants.UPDATE_PERIOD);
 
   public FollowPathAction(Path pathToFollow) {
-    path = pathToFollow;
+    sourcePath = pathToFollow;
+    path = CompiledAutoPaths.get(pathToFollow);
+    follower =
+        new PathFollower(
+            path, AutoConstants.CROSS_TRACK_KP, AutoConstants.MAX_CROSS_TRACK_CORRECTION);
+  }
 
-    anglePid.setInputRange(0, 360);
-    anglePid.setOutputRange(-1.0, 1.0);
-    anglePid.setContinuous(true);
-    anglePid.enable();
+  public Path getPath() {
+    return sourcePath;
   }
 
   @Override
   public boolean isFinished() {
-    double currentDistance = getAverageEncoderPositions();
+    double currentDistance = hardware.getDriveDistance();
 
     if (!hasReset) {
       hasReset = currentDistance < 10.0;
@@ -64,43 +53,45 @@ public class FollowPathAction implements Action {
 
   @Override
   public void update() {
-    double currentDistance = getAverageEncoderPositions();
-    double angle = swerve.getNavX().getAngle();
-
-    double pathDirection = path.getDirectionAtDistance(currentDistance) * (Math.PI / 180.0);
-    anglePid.setSetpoint(path.getAngleAtDistance(currentDistance));
-
-    double forward = Math.cos(pathDirection);
-    double strafe = Math.sin(pathDirection);
-    double angleRadians = Math.toRadians(angle);
-    double temp = (forward * Math.cos(angleRadians)) + (strafe * Math.sin(angleRadians));
-    strafe = (-forward * Math.sin(angleRadians)) + (strafe * Math.cos(angleRadians));
-    forward = temp;
-
-    swerve.setTurnSignals(swerve.calculateModuleSignals(forward, strafe, angleCorrection));
+    Pose pose = hardware.getPose();
+    double angle = hardware.getAngle();
+    follower.update(
+        pose.getForward() - startPose.getForward(),
+        pose.getStrafe() - startPose.getStrafe(),
+        angle);
+    headingController.setTargetAngle(follower.getTargetAngle());
+
+    hardware.steer(follower.getForward(), follower.getStrafe(), headingController.update(angle));
   }
 
   @Override
   public void done() {
-    swerve.stop();
+    hardware.stopDrive();
   }
 
   @Override
   public void start() {
     hasReset = false;
-    swerve.resetEncoders();
-    double length = path.getLength();
-    swerve.setTargetDistances(length, length, length, length);
+    startPose = hardware.getPose();
+    follower.reset();
+    headingController.reset();
+    hardware.resetDriveDistances();
+    hardware.setTargetDriveDistance(path.getLength());
   }
 
-  private double getAverageEncoderPositions() {
-    return SimpleUtil.meanWithoutLowestOutliers(
-        new double[] {
-          swerve.getLeftFrontModule().getDriveDistanceInches(),
-          swerve.getRightFrontModule().getDriveDistanceInches(),
-          swerve.getLeftBackModule().getDriveDistanceInches(),
-          swerve.getRightBackModule().getDriveDistanceInches()
-        },
-        2);
+  /** Follows the path with a robot driving exactly along it, the same way {@link #update} does. */
+  @Override
+  public void prewarm() {
+    double step = path.getStep();
+    for (int pass = 0; pass < AutoConstants.PREWARM_PASSES; pass++) {
+      follower.reset();
+      for (double distance = 0.0; distance <= path.getLength(); distance += step) {
+        follower.update(
+            path.getForwardPositionAtDistance(distance),
+            path.getStrafePositionAtDistance(distance),
+            path.getAngleAtDistance(distance));
+      }
+    }
+    follower.reset();
   }
 }
@@ -1,29 +1,25 @@
 package frc.robot.auto.actions;
 
-import frc.robot.components.Elevator;
-import frc.robot.components.Elevator.ControlState;
+import frc.robot.auto.AutoHardware;
 import frc.robot.components.Elevator.HeightSetPoints;
-import frc.robot.components.Manipulator;
 
 public class LiftToHeightAction implements Action {
 
-  private Elevator elevator = Elevator.getInstance();
-  private Manipulator manipulator = Manipulator.getInstance();
+  private AutoHardware hardware = AutoHardware.get();
 
-  private double encoderLiftTarget;
-  private double manipulatorTarget;
+  private double heightInches;
 
   public LiftToHeightAction(HeightSetPoints height) {
-    encoderLiftTarget = height.heightEncoderTicks;
+    heightInches = height.heightInches;
   }
 
   public LiftToHeightAction(double heightInches) {
-    encoderLiftTarget = elevator.getEncoderPositionFromHeight(heightInches);
+    this.heightInches = heightInches;
   }
 
   @Override
   public boolean isFinished() {
-    return elevator.isCloseToTarget(elevator.getEncoderPositionFromHeight(2.0));
+    return hardware.isElevatorAtHeight(2.0);
   }
 
   @Override
@@ -34,7 +30,6 @@ public class LiftToHeightAction implements Action {
 
   @Override
   public void start() {
-    elevator.setControlType(ControlState.MOTION_MAGIC);
-    elevator.setTarget(encoderLiftTarget);
+    hardware.setElevatorHeight(heightInches);
   }
 }
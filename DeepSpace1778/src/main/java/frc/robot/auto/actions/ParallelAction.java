@@ -1,49 +1,21 @@
 package frc.robot.auto.actions;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Executes a list of actions in parallel, periodically updating each until they are all finished.
+ * Actions that finish early are done as soon as they finish and are not updated again.
  *
  * @author FRC 254 The Cheesy Poofs
  */
-public class ParallelAction implements Action {
-
-  private final ArrayList<Action> actions;
+public class ParallelAction extends ActionGroup {
 
   public ParallelAction(List<Action> actions) {
-    this.actions = new ArrayList<>(actions);
+    super(actions);
   }
 
   @Override
   public boolean isFinished() {
-    for (Action action : actions) {
-      if (!action.isFinished()) {
-        return false;
-      }
-    }
-    return true;
-  }
-
-  @Override
-  public void update() {
-    for (Action action : actions) {
-      action.update();
-    }
-  }
-
-  @Override
-  public void done() {
-    for (Action action : actions) {
-      action.done();
-    }
-  }
-
-  @Override
-  public void start() {
-    for (Action action : actions) {
-      action.start();
-    }
+    return getRunningCount() == 0;
   }
 }
@@ -0,0 +1,21 @@
+package frc.robot.auto.actions;
+
+import java.util.List;
+
+/**
+ * Executes a list of actions in parallel until any one of them finishes. The rest are done at that
+ * point, whether or not they have finished.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class RaceAction extends ActionGroup {
+
+  public RaceAction(List<Action> actions) {
+    super(actions);
+  }
+
+  @Override
+  public boolean isFinished() {
+    return getRunningCount() < getChildCount();
+  }
+}
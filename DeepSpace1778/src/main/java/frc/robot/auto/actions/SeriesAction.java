@@ -1,6 +1,6 @@
 package frc.robot.auto.actions;
 
-import java.util.ArrayList;
+import frc.robot.auto.ActionProfiler;
 import java.util.List;
 
 /**
@@ -10,41 +10,90 @@ import java.util.List;
  */
 public class SeriesAction implements Action {
 
+  private final Action[] actions;
+  private int nextAction;
   private Action currentAction;
-  private final ArrayList<Action> remainingActions;
+
+  private final ActionProfiler profiler = ActionProfiler.getInstance();
+  private int lane;
+  private long currentRecord;
 
   public SeriesAction(List<Action> actions) {
-    remainingActions = new ArrayList<>(actions);
+    this.actions = actions.toArray(new Action[0]);
     currentAction = null;
   }
 
   @Override
   public boolean isFinished() {
-    return remainingActions.isEmpty() && currentAction == null;
+    return currentAction == null && nextAction >= actions.length;
   }
 
   @Override
-  public void start() {}
+  public void start() {
+    nextAction = 0;
+    lane = profiler.getLane();
+    startNextAction();
+  }
 
   @Override
   public void update() {
     if (currentAction == null) {
-      if (remainingActions.isEmpty()) {
-        return;
-      }
-
-      currentAction = remainingActions.remove(0);
-      currentAction.start();
+      return;
     }
 
+    long updateStartTime = profiler.startUpdate();
     currentAction.update();
+    profiler.endUpdate(currentRecord, updateStartTime);
 
     if (currentAction.isFinished()) {
       currentAction.done();
+      profiler.end(currentRecord);
+      startNextAction();
+    }
+  }
+
+  /** Ends the current action if the series is stopped before it finishes. */
+  @Override
+  public void done() {
+    if (currentAction != null) {
+      currentAction.done();
+      profiler.end(currentRecord);
       currentAction = null;
     }
+    nextAction = actions.length;
   }
 
   @Override
-  public void done() {}
+  public void prewarm() {
+    for (Action action : actions) {
+      action.prewarm();
+    }
+  }
+
+  @Override
+  public List<Action> getChildren() {
+    return List.of(actions);
+  }
+
+  /**
+   * Starts the next action, skipping past any that are finished as soon as they start. Every
+   * action is profiled on the lane the series started on, whenever it is started.
+   */
+  private void startNextAction() {
+    currentAction = null;
+    int previousLane = profiler.getLane();
+    profiler.setLane(lane);
+    while (nextAction < actions.length) {
+      Action action = actions[nextAction++];
+      currentRecord = profiler.begin(action);
+      action.start();
+      if (!action.isFinished()) {
+        currentAction = action;
+        break;
+      }
+      action.done();
+      profiler.end(currentRecord);
+    }
+    profiler.setLane(previousLane);
+  }
 }
@@ -1,6 +1,6 @@
 package frc.robot.auto.actions;
 
-import edu.wpi.first.wpilibj.Timer;
+import frc.lib.util.Clock;
 
 /**
  * Action to wait for a given amount of time (in seconds).
@@ -18,7 +18,7 @@ public class WaitAction implements Action {
 
   @Override
   public boolean isFinished() {
-    return Timer.getFPGATimestamp() - this.startTime >= this.timeToWait;
+    return Clock.get().getSeconds() - this.startTime >= this.timeToWait;
   }
 
   @Override
@@ -29,6 +29,6 @@ public class WaitAction implements Action {
 
   @Override
   public void start() {
-    this.startTime = Timer.getFPGATimestamp();
+    this.startTime = Clock.get().getSeconds();
   }
 }
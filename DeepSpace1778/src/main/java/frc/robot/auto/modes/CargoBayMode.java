@@ -1,13 +1,15 @@
 package frc.robot.auto.modes;
 
 import frc.robot.AutoModeSelector.StartingPosition;
-import frc.robot.Robot;
+import frc.robot.auto.AutoHardware;
 import frc.robot.auto.AutoModeBase;
-import frc.robot.auto.AutoModeEndedException;
 import frc.robot.auto.AutoPaths;
+import frc.robot.auto.AutoPaths.Route;
+import frc.robot.auto.AutoPaths.Side;
+import frc.robot.auto.actions.Action;
 import frc.robot.auto.actions.FollowPathAction;
 import frc.robot.auto.actions.RunOnceAction;
-import frc.robot.components.SwerveDrive;
+import java.util.List;
 
 /**
  * An auto mode to score a single hatch panel on the cargo bay.
@@ -16,34 +18,37 @@ import frc.robot.components.SwerveDrive;
  */
 public class CargoBayMode extends AutoModeBase {
 
-  StartingPosition startingPosition;
+  Route route;
+  Side side;
 
   public CargoBayMode(StartingPosition position) {
-    startingPosition = position;
-  }
-
-  @Override
-  public void routine() throws AutoModeEndedException {
-    runAction(
-        new RunOnceAction() {
-          @Override
-          public void runOnce() {
-            SwerveDrive.getInstance().zeroSensors();
-            Robot.limelightTable.getEntry("camMode").setDouble(1.0);
-            Robot.limelightTable.getEntry("ledMode").setDouble(1.0);
-          }
-        });
-    switch (startingPosition) {
+    switch (position) {
       case LEFT:
-        runAction(new FollowPathAction(AutoPaths.START_LEFT_TO_LEFT_CARGO_BAY_NEAR));
+        route = Route.START_TO_CARGO_BAY_NEAR;
+        side = Side.LEFT;
         break;
       case CENTER:
-        runAction(new FollowPathAction(AutoPaths.START_CENTER_TO_LEFT_FRONT_CARGO_BAY));
+        route = Route.START_CENTER_TO_FRONT_CARGO_BAY;
+        side = Side.LEFT;
         break;
       default:
       case RIGHT:
-        runAction(new FollowPathAction(AutoPaths.START_RIGHT_TO_RIGHT_CARGO_BAY_NEAR));
+        route = Route.START_TO_CARGO_BAY_NEAR;
+        side = Side.RIGHT;
         break;
     }
   }
+
+  @Override
+  public List<Action> routine() {
+    return List.of(
+        new RunOnceAction() {
+          @Override
+          public void runOnce() {
+            AutoHardware.get().zeroGyro();
+            AutoHardware.get().setVisionTracking(false);
+          }
+        },
+        new FollowPathAction(AutoPaths.get(route, side)));
+  }
 }
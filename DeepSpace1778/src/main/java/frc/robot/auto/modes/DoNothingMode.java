@@ -1,7 +1,8 @@
 package frc.robot.auto.modes;
 
 import frc.robot.auto.AutoModeBase;
-import frc.robot.auto.AutoModeEndedException;
+import frc.robot.auto.actions.Action;
+import java.util.List;
 
 /**
  * An auto mode that does absolutely nothing.
@@ -11,5 +12,7 @@ import frc.robot.auto.AutoModeEndedException;
 public class DoNothingMode extends AutoModeBase {
 
   @Override
-  public void routine() throws AutoModeEndedException {}
+  public List<Action> routine() {
+    return List.of();
+  }
 }
@@ -0,0 +1,51 @@
+package frc.robot.auto.modes;
+
+import frc.robot.auto.AutoConstants;
+import frc.robot.auto.AutoModeBase;
+import frc.robot.auto.actions.Action;
+import frc.robot.auto.actions.CharacterizeDriveAction;
+import frc.robot.auto.actions.RunOnceAction;
+import frc.robot.auto.actions.WaitAction;
+import frc.robot.components.SwerveDrive;
+import java.util.List;
+
+/**
+ * Characterizes the swerve drive motors by driving forwards and backwards with slowly ramping and
+ * then stepped voltages. Each run leaves a log on the robot for the fitCharacterization task. Give
+ * the robot plenty of room in front of and behind it before running this.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class DriveCharacterizationMode extends AutoModeBase {
+
+  @Override
+  public List<Action> routine() {
+    return List.of(
+        new RunOnceAction() {
+          @Override
+          public void runOnce() {
+            SwerveDrive.getInstance().setAllToAngle(0.0);
+          }
+        },
+        new WaitAction(1.0),
+        CharacterizeDriveAction.quasiStatic(
+            "quasistatic-forward",
+            AutoConstants.CHARACTERIZATION_RAMP_RATE,
+            AutoConstants.CHARACTERIZATION_RAMP_DURATION),
+        new WaitAction(1.0),
+        CharacterizeDriveAction.quasiStatic(
+            "quasistatic-backward",
+            -AutoConstants.CHARACTERIZATION_RAMP_RATE,
+            AutoConstants.CHARACTERIZATION_RAMP_DURATION),
+        new WaitAction(1.0),
+        CharacterizeDriveAction.stepVoltage(
+            "step-forward",
+            AutoConstants.CHARACTERIZATION_STEP_VOLTAGE,
+            AutoConstants.CHARACTERIZATION_STEP_DURATION),
+        new WaitAction(1.0),
+        CharacterizeDriveAction.stepVoltage(
+            "step-backward",
+            -AutoConstants.CHARACTERIZATION_STEP_VOLTAGE,
+            AutoConstants.CHARACTERIZATION_STEP_DURATION));
+  }
+}
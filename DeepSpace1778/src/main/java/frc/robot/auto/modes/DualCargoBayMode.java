@@ -1,13 +1,16 @@
 package frc.robot.auto.modes;
 
 import frc.robot.AutoModeSelector.StartingPosition;
-import frc.robot.Robot;
+import frc.robot.auto.AutoHardware;
 import frc.robot.auto.AutoModeBase;
-import frc.robot.auto.AutoModeEndedException;
 import frc.robot.auto.AutoPaths;
+import frc.robot.auto.AutoPaths.Route;
+import frc.robot.auto.AutoPaths.Side;
+import frc.robot.auto.actions.Action;
 import frc.robot.auto.actions.FollowPathAction;
 import frc.robot.auto.actions.RunOnceAction;
-import frc.robot.components.SwerveDrive;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An auto mode to score two hatch panel on the cargo bay.
@@ -16,40 +19,44 @@ import frc.robot.components.SwerveDrive;
  */
 public class DualCargoBayMode extends AutoModeBase {
 
-  StartingPosition startingPosition;
+  List<Route> routes;
+  Side side;
 
   public DualCargoBayMode(StartingPosition position) {
-    startingPosition = position;
+    switch (position) {
+      case CENTER:
+        routes =
+            List.of(
+                Route.START_CENTER_TO_FRONT_CARGO_BAY,
+                Route.FRONT_CARGO_BAY_TO_DEPOT,
+                Route.DEPOT_TO_ROCKET_CARGO);
+        side = Side.LEFT;
+        break;
+      default:
+        routes =
+            List.of(
+                Route.START_TO_CARGO_BAY_NEAR,
+                Route.CARGO_BAY_NEAR_TO_FEEDER_STATION,
+                Route.FEEDER_STATION_TO_CARGO_BAY_CENTER);
+        side = position == StartingPosition.LEFT ? Side.LEFT : Side.RIGHT;
+        break;
+    }
   }
 
   @Override
-  public void routine() throws AutoModeEndedException {
-    runAction(
+  public List<Action> routine() {
+    List<Action> actions = new ArrayList<>();
+    actions.add(
         new RunOnceAction() {
           @Override
           public void runOnce() {
-            SwerveDrive.getInstance().zeroSensors();
-            Robot.limelightTable.getEntry("camMode").setDouble(1.0);
-            Robot.limelightTable.getEntry("ledMode").setDouble(1.0);
+            AutoHardware.get().zeroGyro();
+            AutoHardware.get().setVisionTracking(false);
           }
         });
-    switch (startingPosition) {
-      case LEFT:
-        runAction(new FollowPathAction(AutoPaths.START_LEFT_TO_LEFT_CARGO_BAY_NEAR));
-        runAction(new FollowPathAction(AutoPaths.LEFT_CARGO_BAY_NEAR_TO_LEFT_FEEDER_STATION));
-        runAction(new FollowPathAction(AutoPaths.LEFT_FEEDER_STATION_TO_LEFT_CARGO_BAY_CENTER));
-        break;
-      case CENTER:
-        runAction(new FollowPathAction(AutoPaths.START_CENTER_TO_LEFT_FRONT_CARGO_BAY));
-        runAction(new FollowPathAction(AutoPaths.LEFT_FRONT_CARGO_BAY_TO_LEFT_DEPOT));
-        runAction(new FollowPathAction(AutoPaths.LEFT_DEPOT_TO_ROCKET_CARGO));
-        break;
-      default:
-      case RIGHT:
-        runAction(new FollowPathAction(AutoPaths.START_RIGHT_TO_RIGHT_CARGO_BAY_NEAR));
-        runAction(new FollowPathAction(AutoPaths.RIGHT_CARGO_BAY_NEAR_TO_RIGHT_FEEDER_STATION));
-        runAction(new FollowPathAction(AutoPaths.RIGHT_FEEDER_STATION_TO_RIGHT_CARGO_BAY_CENTER));
-        break;
+    for (Route route : routes) {
+      actions.add(new FollowPathAction(AutoPaths.get(route, side)));
     }
+    return actions;
   }
 }
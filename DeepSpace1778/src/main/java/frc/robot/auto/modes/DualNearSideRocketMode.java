@@ -1,13 +1,22 @@
 package frc.robot.auto.modes;
 
+import frc.lib.pathing.Path;
 import frc.robot.AutoModeSelector.StartingPosition;
-import frc.robot.Robot;
+import frc.robot.auto.AutoHardware;
 import frc.robot.auto.AutoModeBase;
-import frc.robot.auto.AutoModeEndedException;
 import frc.robot.auto.AutoPaths;
+import frc.robot.auto.AutoPaths.Route;
+import frc.robot.auto.AutoPaths.Side;
+import frc.robot.auto.actions.Action;
 import frc.robot.auto.actions.FollowPathAction;
+import frc.robot.auto.actions.LiftToHeightAction;
+import frc.robot.auto.actions.ParallelAction;
 import frc.robot.auto.actions.RunOnceAction;
-import frc.robot.components.SwerveDrive;
+import frc.robot.auto.actions.SeriesAction;
+import frc.robot.auto.actions.WaitAction;
+import frc.robot.components.Elevator.HeightSetPoints;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An auto mode to score two hatch panels on the near side of the rocket.
@@ -16,47 +25,47 @@ import frc.robot.components.SwerveDrive;
  */
 public class DualNearSideRocketMode extends AutoModeBase {
 
-  StartingPosition startingPosition;
+  Side side;
 
   public DualNearSideRocketMode(StartingPosition position) {
-    startingPosition = position;
+    side = position == StartingPosition.LEFT ? Side.LEFT : Side.RIGHT;
   }
 
   @Override
-  public void routine() throws AutoModeEndedException {
-    runAction(
+  public List<Action> routine() {
+    List<Action> actions = new ArrayList<>();
+    actions.add(
         new RunOnceAction() {
           @Override
           public void runOnce() {
-            SwerveDrive.getInstance().zeroSensors();
-            Robot.limelightTable.getEntry("camMode").setDouble(1.0);
-            Robot.limelightTable.getEntry("ledMode").setDouble(1.0);
+            AutoHardware.get().zeroGyro();
+            AutoHardware.get().setVisionTracking(false);
           }
         });
-    switch (startingPosition) {
-      case LEFT:
-        runAction(new FollowPathAction(AutoPaths.START_LEFT_TO_LEFT_ROCKET_NEAR_SIDE));
-        // runAction(new AlignWithTargetAction(28.77));
-        // runAction(new HatchManipulatorAction(false));
-        runAction(new FollowPathAction(AutoPaths.LEFT_ROCKET_NEAR_SIDE_TO_LEFT_FEEDER_STATION));
-        // runAction(new AlignWithTargetAction(180));
-        // runAction(new HatchManipulatorAction(true));
-        runAction(new FollowPathAction(AutoPaths.LEFT_FEEDER_STATION_TO_LEFT_ROCKET_NEAR_SIDE));
-        // runAction(new AlignWithTargetAction(28.77));
-        // runAction(new HatchManipulatorAction(false));
-        break;
-      default:
-      case RIGHT:
-        runAction(new FollowPathAction(AutoPaths.START_RIGHT_TO_RIGHT_ROCKET_NEAR_SIDE));
-        // runAction(new AlignWithTargetAction(331.23));
-        // runAction(new HatchManipulatorAction(false));
-        runAction(new FollowPathAction(AutoPaths.RIGHT_ROCKET_NEAR_SIDE_TO_RIGHT_FEEDER_STATION));
-        // runAction(new AlignWithTargetAction(180));
-        // runAction(new HatchManipulatorAction(true));
-        runAction(new FollowPathAction(AutoPaths.RIGHT_FEEDER_STATION_TO_RIGHT_ROCKET_NEAR_SIDE));
-        // runAction(new AlignWithTargetAction(331.23));
-        // runAction(new HatchManipulatorAction(false));
-        break;
-    }
+    // The elevator moves while the robot drives, so it is already at height when the path ends.
+    actions.add(
+        new ParallelAction(
+            List.of(
+                new FollowPathAction(AutoPaths.get(Route.START_TO_ROCKET_NEAR_SIDE, side)),
+                new LiftToHeightAction(HeightSetPoints.HATCH_LOW))));
+    // actions.add(new AlignWithTargetAction(side == Side.LEFT ? 28.77 : 331.23));
+    // actions.add(new HatchManipulatorAction(false));
+    // The elevator is still at the hatch low height, which is also where hatches are picked up.
+    actions.add(
+        new FollowPathAction(AutoPaths.get(Route.ROCKET_NEAR_SIDE_TO_FEEDER_STATION, side)));
+    // actions.add(new AlignWithTargetAction(180));
+    // actions.add(new HatchManipulatorAction(true));
+    Path toRocket = AutoPaths.get(Route.FEEDER_STATION_TO_ROCKET_NEAR_SIDE, side);
+    actions.add(
+        new ParallelAction(
+            List.of(
+                new FollowPathAction(toRocket),
+                new SeriesAction(
+                    List.of(
+                        new WaitAction(toRocket.getDuration() - 1.0),
+                        new LiftToHeightAction(HeightSetPoints.HATCH_MED))))));
+    // actions.add(new AlignWithTargetAction(side == Side.LEFT ? 28.77 : 331.23));
+    // actions.add(new HatchManipulatorAction(false));
+    return actions;
   }
 }
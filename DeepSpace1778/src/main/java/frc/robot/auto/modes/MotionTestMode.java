@@ -1,12 +1,12 @@
 package frc.robot.auto.modes;
 
-import frc.robot.Robot;
+import frc.robot.auto.AutoHardware;
 import frc.robot.auto.AutoModeBase;
-import frc.robot.auto.AutoModeEndedException;
+import frc.robot.auto.actions.Action;
 import frc.robot.auto.actions.LiftToHeightAction;
 import frc.robot.auto.actions.RunOnceAction;
 import frc.robot.components.Elevator.HeightSetPoints;
-import frc.robot.components.SwerveDrive;
+import java.util.List;
 
 /**
  * A simple auto mode to test that auto selection works.
@@ -16,17 +16,16 @@ import frc.robot.components.SwerveDrive;
 public class MotionTestMode extends AutoModeBase {
 
   @Override
-  public void routine() throws AutoModeEndedException {
-    runAction(
+  public List<Action> routine() {
+    return List.of(
         new RunOnceAction() {
           @Override
           public void runOnce() {
-            SwerveDrive.getInstance().zeroSensors();
-            Robot.limelightTable.getEntry("camMode").setDouble(1.0);
-            Robot.limelightTable.getEntry("ledMode").setDouble(1.0);
+            AutoHardware.get().zeroGyro();
+            AutoHardware.get().setVisionTracking(false);
           }
-        });
-    runAction(new LiftToHeightAction(HeightSetPoints.CARGO_MED));
-    runAction(new LiftToHeightAction(HeightSetPoints.CARGO_PICKUP));
+        },
+        new LiftToHeightAction(HeightSetPoints.CARGO_MED),
+        new LiftToHeightAction(HeightSetPoints.CARGO_PICKUP));
   }
 }
@@ -1,10 +1,13 @@
 package frc.robot.auto.modes;
 
+import frc.lib.pathing.Path;
 import frc.robot.AutoModeSelector.StartingPosition;
-import frc.robot.Robot;
+import frc.robot.auto.AutoHardware;
 import frc.robot.auto.AutoModeBase;
-import frc.robot.auto.AutoModeEndedException;
 import frc.robot.auto.AutoPaths;
+import frc.robot.auto.AutoPaths.Route;
+import frc.robot.auto.AutoPaths.Side;
+import frc.robot.auto.actions.Action;
 import frc.robot.auto.actions.FollowPathAction;
 import frc.robot.auto.actions.LiftToHeightAction;
 import frc.robot.auto.actions.ParallelAction;
@@ -12,7 +15,7 @@ import frc.robot.auto.actions.RunOnceAction;
 import frc.robot.auto.actions.SeriesAction;
 import frc.robot.auto.actions.WaitAction;
 import frc.robot.components.Elevator.HeightSetPoints;
-import frc.robot.components.SwerveDrive;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -22,52 +25,34 @@ import java.util.List;
  */
 public class NearSideRocketMode extends AutoModeBase {
 
-  StartingPosition startingPosition;
+  Side side;
 
   public NearSideRocketMode(StartingPosition position) {
-    startingPosition = position;
+    side = position == StartingPosition.LEFT ? Side.LEFT : Side.RIGHT;
   }
 
   @Override
-  public void routine() throws AutoModeEndedException {
-    runAction(
+  public List<Action> routine() {
+    List<Action> actions = new ArrayList<>();
+    actions.add(
         new RunOnceAction() {
           @Override
           public void runOnce() {
-            SwerveDrive.getInstance().zeroSensors();
-            Robot.limelightTable.getEntry("camMode").setDouble(1.0);
-            Robot.limelightTable.getEntry("ledMode").setDouble(1.0);
+            AutoHardware.get().zeroGyro();
+            AutoHardware.get().setVisionTracking(false);
           }
         });
-    switch (startingPosition) {
-      case LEFT:
-        runAction(
-            new ParallelAction(
-                List.of(
-                    new FollowPathAction(AutoPaths.START_LEFT_TO_LEFT_ROCKET_NEAR_SIDE),
-                    new SeriesAction(
-                        List.of(
-                            new LiftToHeightAction(HeightSetPoints.CARGO_PICKUP),
-                            new WaitAction(
-                                AutoPaths.START_LEFT_TO_LEFT_ROCKET_NEAR_SIDE.getDuration() - 1.0),
-                            new LiftToHeightAction(HeightSetPoints.CARGO_LOW))))));
-        // runAction(new AlignWithTargetAction(28.77));
-        break;
-      default:
-      case RIGHT:
-        runAction(
-            new ParallelAction(
-                List.of(
-                    new FollowPathAction(AutoPaths.START_RIGHT_TO_RIGHT_ROCKET_NEAR_SIDE),
-                    new SeriesAction(
-                        List.of(
-                            new LiftToHeightAction(HeightSetPoints.CARGO_PICKUP),
-                            new WaitAction(
-                                AutoPaths.START_RIGHT_TO_RIGHT_ROCKET_NEAR_SIDE.getDuration()
-                                    - 1.0),
-                            new LiftToHeightAction(HeightSetPoints.CARGO_LOW))))));
-        // runAction(new AlignWithTargetAction(331.23));
-        break;
-    }
+    Path path = AutoPaths.get(Route.START_TO_ROCKET_NEAR_SIDE, side);
+    actions.add(
+        new ParallelAction(
+            List.of(
+                new FollowPathAction(path),
+                new SeriesAction(
+                    List.of(
+                        new LiftToHeightAction(HeightSetPoints.CARGO_PICKUP),
+                        new WaitAction(path.getDuration() - 1.0),
+                        new LiftToHeightAction(HeightSetPoints.CARGO_LOW))))));
+    // actions.add(new AlignWithTargetAction(side == Side.LEFT ? 28.77 : 331.23));
+    return actions;
   }
 }
@@ -37,7 +37,7 @@ public class Elevator extends Subsystem {
     private HeightSetPoints(double heightInches, double manipulatorAngle) {
       this.heightInches = heightInches;
       this.manipulatorAngle = manipulatorAngle;
-      heightEncoderTicks = Elevator.getInstance().getEncoderPositionFromHeight(heightInches);
+      heightEncoderTicks = heightInches / INCHES_PER_ENCODER_PULSE;
     }
 
     public final double heightInches;
@@ -69,6 +69,10 @@ public class Elevator extends Subsystem {
 
   private static final double INCHES_PER_ENCODER_PULSE = 60.0 / 200000;
 
+  // Motion magic cruise velocity and acceleration, in inches per second and per second squared.
+  public static final double MAX_VELOCITY = 40.0;
+  public static final double MAX_ACCELERATION = 90.0;
+
   private double wantedHeight;
 
   private TalonSRX masterElevator;
@@ -105,8 +109,10 @@ public class Elevator extends Subsystem {
       masterConfiguration.pidKp = 0.2;
       masterConfiguration.pidKi = 0.0;
       masterConfiguration.pidKd = 0.3;
-      masterConfiguration.motionCruiseVelocity = (int) (40.0 / INCHES_PER_ENCODER_PULSE / 10.0);
-      masterConfiguration.motionAcceleration = (int) (90.0 / INCHES_PER_ENCODER_PULSE / 10.0);
+      masterConfiguration.motionCruiseVelocity =
+          (int) (MAX_VELOCITY / INCHES_PER_ENCODER_PULSE / 10.0);
+      masterConfiguration.motionAcceleration =
+          (int) (MAX_ACCELERATION / INCHES_PER_ENCODER_PULSE / 10.0);
       masterConfiguration.continuousCurrentLimit = 30;
       masterConfiguration.peakCurrentLimit = 35;
       masterConfiguration.peakCurrentLimitDuration = 10;
@@ -0,0 +1,131 @@
+package frc.robot.components;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.shuffleboard.BuiltInWidgets;
+import frc.lib.kinematics.Pose;
+import frc.lib.kinematics.SwerveOdometry;
+import frc.lib.util.Clock;
+import frc.lib.util.ModuleSensors;
+import frc.robot.Constants;
+
+/**
+ * Tracks where the robot is on the field from the swerve modules' encoders and the NavX. It runs
+ * on its own notifier, faster than the main robot loop, so that fast turns and strafes are not
+ * missed between loops. Anything can read the latest pose at any time without waiting on it.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class Odometry extends Subsystem {
+
+  private static Odometry instance;
+
+  private SwerveDrive swerve = SwerveDrive.getInstance();
+  private SwerveModule[] modules = {
+    swerve.getLeftFrontModule(),
+    swerve.getRightFrontModule(),
+    swerve.getLeftBackModule(),
+    swerve.getRightBackModule()
+  };
+  // The odometry runs faster than the main loop, so it reads the modules into its own readings.
+  private ModuleSensors[] readings = {
+    new ModuleSensors(), new ModuleSensors(), new ModuleSensors(), new ModuleSensors()
+  };
+  private double[] distances = new double[modules.length];
+  private double[] directions = new double[modules.length];
+
+  private SwerveOdometry odometry = new SwerveOdometry(SwerveDrive.KINEMATICS);
+  private Notifier notifier = new Notifier(this::update);
+
+  private NetworkTableEntry forwardEntry;
+  private NetworkTableEntry strafeEntry;
+  private NetworkTableEntry angleEntry;
+
+  private boolean shuffleboardInitialized;
+
+  public static Odometry getInstance() {
+    if (instance == null) {
+      instance = new Odometry();
+    }
+
+    return instance;
+  }
+
+  private Odometry() {}
+
+  public void start() {
+    notifier.startPeriodic(Constants.ODOMETRY_PERIOD);
+  }
+
+  public void stop() {
+    notifier.stop();
+  }
+
+  private void update() {
+    for (int i = 0; i < modules.length; i++) {
+      modules[i].readSensors(readings[i]);
+      distances[i] = modules[i].getDriveDistanceInches(readings[i]);
+      directions[i] = modules[i].getDriveDirection(readings[i]);
+    }
+
+    odometry.update(Clock.get().getSeconds(), swerve.getNavX().getAngle(), distances, directions);
+  }
+
+  /** Returns the latest pose. This never blocks, and can be called from any thread. */
+  public Pose getPose() {
+    return odometry.getPose();
+  }
+
+  public void reset(Pose pose) {
+    odometry.reset(pose);
+  }
+
+  @Override
+  public void sendTelemetry(boolean debug) {
+    if (shuffleboardInitialized) {
+      Pose pose = getPose();
+      forwardEntry.setDouble(pose.getForward());
+      strafeEntry.setDouble(pose.getStrafe());
+      angleEntry.setDouble(pose.getAngle());
+    } else {
+      forwardEntry =
+          Constants.debugTab
+              .add("Pose Forward", 0)
+              .withWidget(BuiltInWidgets.kTextView)
+              .withPosition(0, 3)
+              .withSize(1, 1)
+              .getEntry();
+      strafeEntry =
+          Constants.debugTab
+              .add("Pose Strafe", 0)
+              .withWidget(BuiltInWidgets.kTextView)
+              .withPosition(1, 3)
+              .withSize(1, 1)
+              .getEntry();
+      angleEntry =
+          Constants.debugTab
+              .add("Pose Angle", 0)
+              .withWidget(BuiltInWidgets.kTextView)
+              .withPosition(2, 3)
+              .withSize(1, 1)
+              .getEntry();
+      shuffleboardInitialized = true;
+    }
+  }
+
+  /** Tells the odometry the drive encoders are about to be reset. Call this before resetting. */
+  @Override
+  public void resetEncoders() {
+    odometry.resetDistances();
+  }
+
+  /** Tells the odometry the NavX is about to be zeroed. Call this before zeroing it. */
+  public void resetGyro() {
+    odometry.resetAngle();
+  }
+
+  @Override
+  public void zeroSensors() {
+    reset(new Pose(0.0, 0.0, swerve.getNavX().getAngle(), Clock.get().getSeconds()));
+  }
+}
@@ -3,10 +3,12 @@ package frc.robot.components;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.wpilibj.shuffleboard.BuiltInWidgets;
 import frc.lib.driver.NavX;
+import frc.lib.kinematics.SwerveKinematics;
 import frc.lib.util.ModuleSignal;
 import frc.robot.Constants;
 import frc.robot.Ports;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -17,6 +19,19 @@ import java.util.List;
  */
 public class SwerveDrive extends Subsystem {
 
+  // The modules in the order left front, right front, left back and right back.
+  public static final SwerveKinematics KINEMATICS =
+      new SwerveKinematics(
+          new double[] {Constants.VEHICLE_WHEELBASE / 2, Constants.VEHICLE_TRACKWIDTH / 2},
+          new double[] {Constants.VEHICLE_WHEELBASE / 2, -Constants.VEHICLE_TRACKWIDTH / 2},
+          new double[] {-Constants.VEHICLE_WHEELBASE / 2, Constants.VEHICLE_TRACKWIDTH / 2},
+          new double[] {-Constants.VEHICLE_WHEELBASE / 2, -Constants.VEHICLE_TRACKWIDTH / 2});
+
+  public enum ControlState {
+    OPEN_LOOP,
+    VELOCITY
+  }
+
   private static SwerveDrive instance;
 
   private static boolean initialized;
@@ -25,9 +40,13 @@ public class SwerveDrive extends Subsystem {
   public SwerveModule rightFront;
   public SwerveModule leftBack;
   public SwerveModule rightBack;
+  // Every module, built once so the loop can go through them without allocating.
+  private final SwerveModule[] modules;
 
   private NavX navX;
 
+  private ControlState controlState = ControlState.OPEN_LOOP;
+
   private NetworkTableEntry leftFrontTurnAngleEntry;
   private NetworkTableEntry leftFrontDrivePowerEntry;
 
@@ -42,6 +61,7 @@ public class SwerveDrive extends Subsystem {
 
   private NetworkTableEntry bagMotorCurrentEntry;
   private NetworkTableEntry cimMotorCurrentEntry;
+  private NetworkTableEntry suppressedWritesEntry;
 
   private boolean shuffleboardInitialized;
 
@@ -74,9 +94,20 @@ public class SwerveDrive extends Subsystem {
               Ports.RIGHT_BACK_ID, Ports.RIGHT_BACK_TURN_ID, Constants.RIGHT_BACK_ANGLE_OFFSET);
 
       navX = new NavX(Ports.NAVX_SPI);
+      modules = new SwerveModule[] {leftFront, rightFront, leftBack, rightBack};
+    } else {
+      modules = new SwerveModule[0];
     }
   }
 
+  /** Reads every module's sensors once. The robot does this at the start of each loop. */
+  public void readSensors() {
+    leftFront.readSensors();
+    rightFront.readSensors();
+    leftBack.readSensors();
+    rightBack.readSensors();
+  }
+
   @Override
   public void sendTelemetry(boolean debug) {
     if (shuffleboardInitialized) {
@@ -91,15 +122,16 @@ public class SwerveDrive extends Subsystem {
         leftBackDrivePowerEntry.setDouble(leftBack.getDriveDistanceInches());
         rightBackDrivePowerEntry.setDouble(rightBack.getDriveDistanceInches());
         bagMotorCurrentEntry.setDouble(
-            +leftFront.getTurnMotor().getOutputCurrent()
-                + rightFront.getTurnMotor().getOutputCurrent()
-                + leftBack.getTurnMotor().getOutputCurrent()
-                + rightBack.getTurnMotor().getOutputCurrent());
+            leftFront.getTurnCurrent()
+                + rightFront.getTurnCurrent()
+                + leftBack.getTurnCurrent()
+                + rightBack.getTurnCurrent());
         cimMotorCurrentEntry.setDouble(
-            leftFront.getDriveMotor().getOutputCurrent()
-                + rightFront.getDriveMotor().getOutputCurrent()
-                + leftBack.getDriveMotor().getOutputCurrent()
-                + rightBack.getDriveMotor().getOutputCurrent());
+            leftFront.getDriveCurrent()
+                + rightFront.getDriveCurrent()
+                + leftBack.getDriveCurrent()
+                + rightBack.getDriveCurrent());
+        suppressedWritesEntry.setDouble(getSuppressedWritePercentage());
       }
     } else {
       leftFrontTurnAngleEntry =
@@ -175,13 +207,45 @@ public class SwerveDrive extends Subsystem {
                 .withPosition(7, 0)
                 .withSize(3, 3)
                 .getEntry();
+        suppressedWritesEntry =
+            Constants.debugTab
+                .add("CAN Writes Suppressed %", 0)
+                .withWidget(BuiltInWidgets.kTextView)
+                .withPosition(3, 3)
+                .withSize(1, 1)
+                .getEntry();
       }
       shuffleboardInitialized = true;
     }
   }
 
+  /** Returns how many writes have actually been sent to the swerve Talons. */
+  public long getSentWrites() {
+    long sent = 0;
+    for (SwerveModule module : modules) {
+      sent += module.getDriveMotor().getSentWrites() + module.getTurnMotor().getSentWrites();
+    }
+
+    return sent;
+  }
+
+  /** Returns how many of the writes to the swerve Talons were skipped as redundant, in percent. */
+  private double getSuppressedWritePercentage() {
+    long sent = 0;
+    long suppressed = 0;
+    for (SwerveModule module : modules) {
+      sent += module.getDriveMotor().getSentWrites() + module.getTurnMotor().getSentWrites();
+      suppressed +=
+          module.getDriveMotor().getSuppressedWrites()
+              + module.getTurnMotor().getSuppressedWrites();
+    }
+
+    return sent + suppressed > 0 ? 100.0 * suppressed / (sent + suppressed) : 0.0;
+  }
+
   @Override
   public void resetEncoders() {
+    Odometry.getInstance().resetEncoders();
     leftFront.resetDriveEncoder();
     rightFront.resetDriveEncoder();
     leftBack.resetDriveEncoder();
@@ -190,6 +254,7 @@ public class SwerveDrive extends Subsystem {
 
   @Override
   public void zeroSensors() {
+    Odometry.getInstance().resetGyro();
     navX.zeroYaw();
   }
 
@@ -215,40 +280,39 @@ public class SwerveDrive extends Subsystem {
 
   public ArrayList<ModuleSignal> calculateModuleSignals(
       double forward, double strafe, double rotation) {
-    ArrayList<ModuleSignal> signals = new ArrayList<ModuleSignal>(4);
-
-    double a = strafe + (rotation * (Constants.VEHICLE_WHEELBASE / Constants.VEHICLE_DIAGONAL));
-    double b = strafe - (rotation * (Constants.VEHICLE_WHEELBASE / Constants.VEHICLE_DIAGONAL));
-    double c = forward + (rotation * (Constants.VEHICLE_TRACKWIDTH / Constants.VEHICLE_DIAGONAL));
-    double d = forward - (rotation * (Constants.VEHICLE_TRACKWIDTH / Constants.VEHICLE_DIAGONAL));
-
-    double leftFrontPower = Math.sqrt((a * a) + (d * d));
-    double rightFrontPower = Math.sqrt((a * a) + (c * c));
-    double leftBackPower = Math.sqrt((b * b) + (d * d));
-    double rightBackPower = Math.sqrt((b * b) + (c * c));
-
-    double max =
-        Math.max(
-            leftFrontPower, Math.max(rightFrontPower, Math.max(leftBackPower, rightBackPower)));
-
-    if (max > 1) {
-      leftFrontPower /= max;
-      rightFrontPower /= max;
-      leftBackPower /= max;
-      rightBackPower /= max;
-    }
+    ModuleSignal[] signals = createModuleSignals();
+    calculateModuleSignals(forward, strafe, rotation, signals);
+    return new ArrayList<ModuleSignal>(Arrays.asList(signals));
+  }
 
-    double leftFrontAngle = Math.atan2(a, d) * 180 / Math.PI;
-    double rightFrontAngle = Math.atan2(a, c) * 180 / Math.PI;
-    double leftBackAngle = Math.atan2(b, d) * 180 / Math.PI;
-    double rightBackAngle = Math.atan2(b, c) * 180 / Math.PI;
+  /** Returns an array of signals, one for each module, to pass to calculateModuleSignals. */
+  public static ModuleSignal[] createModuleSignals() {
+    return new ModuleSignal[] {
+      new ModuleSignal(), new ModuleSignal(), new ModuleSignal(), new ModuleSignal()
+    };
+  }
 
-    signals.add(new ModuleSignal(leftFrontPower, leftFrontAngle));
-    signals.add(new ModuleSignal(rightFrontPower, rightFrontAngle));
-    signals.add(new ModuleSignal(leftBackPower, leftBackAngle));
-    signals.add(new ModuleSignal(rightBackPower, rightBackAngle));
+  /**
+   * Calculates the signals for each module into the given array, in the order left front, right
+   * front, left back and right back. Nothing is allocated, so the same array can be reused every
+   * loop. The signals are the only working space, so the auto thread and the main loop can each
+   * calculate into their own at the same time.
+   */
+  public void calculateModuleSignals(
+      double forward, double strafe, double rotation, ModuleSignal[] signals) {
+    double chassisRotation = rotation / KINEMATICS.getMaxModuleRadius();
+
+    // Every module is scaled down by the same amount when any of them would go past full power.
+    double maxSpeed = 1.0;
+    for (int i = 0; i < signals.length; i++) {
+      double speed = KINEMATICS.getModuleSpeed(i, forward, strafe, chassisRotation);
+      signals[i].set(speed, KINEMATICS.getModuleAngle(i, forward, strafe, chassisRotation));
+      maxSpeed = Math.max(maxSpeed, speed);
+    }
 
-    return signals;
+    for (ModuleSignal signal : signals) {
+      signal.set(signal.getDrivePower() / maxSpeed, signal.getAngle());
+    }
   }
 
   public void setSignals(List<ModuleSignal> signals) {
@@ -256,20 +320,67 @@ public class SwerveDrive extends Subsystem {
     setDriveSignals(signals);
   }
 
-  public void setTurnSignals(List<ModuleSignal> signals) {
-    setAllTurnPowers(0.5);
+  public void setSignals(ModuleSignal[] signals) {
+    setTurnSignals(signals);
+    setDriveSignals(signals);
+  }
 
+  public void setTurnSignals(List<ModuleSignal> signals) {
     leftFront.setTargetAngle(signals.get(0).getAngle());
     rightFront.setTargetAngle(signals.get(1).getAngle());
     leftBack.setTargetAngle(signals.get(2).getAngle());
     rightBack.setTargetAngle(signals.get(3).getAngle());
   }
 
+  public void setTurnSignals(ModuleSignal[] signals) {
+    leftFront.setTargetAngle(signals[0].getAngle());
+    rightFront.setTargetAngle(signals[1].getAngle());
+    leftBack.setTargetAngle(signals[2].getAngle());
+    rightBack.setTargetAngle(signals[3].getAngle());
+  }
+
   public void setDriveSignals(List<ModuleSignal> signals) {
-    leftFront.setDrivePower(signals.get(0).getDrivePower());
-    rightFront.setDrivePower(signals.get(1).getDrivePower());
-    leftBack.setDrivePower(signals.get(2).getDrivePower());
-    rightBack.setDrivePower(signals.get(3).getDrivePower());
+    setDriveSignal(leftFront, signals.get(0));
+    setDriveSignal(rightFront, signals.get(1));
+    setDriveSignal(leftBack, signals.get(2));
+    setDriveSignal(rightBack, signals.get(3));
+  }
+
+  public void setDriveSignals(ModuleSignal[] signals) {
+    setDriveSignal(leftFront, signals[0]);
+    setDriveSignal(rightFront, signals[1]);
+    setDriveSignal(leftBack, signals[2]);
+    setDriveSignal(rightBack, signals[3]);
+  }
+
+  /**
+   * Drives a module at a signal's power. In velocity control, the power is instead the fraction of
+   * the fastest speed the drive motors can hold at nominal voltage.
+   */
+  private void setDriveSignal(SwerveModule module, ModuleSignal signal) {
+    if (controlState == ControlState.VELOCITY) {
+      module.setDriveVelocity(getDriveVelocity(signal.getDrivePower()), 0.0);
+    } else {
+      module.setDrivePower(signal.getDrivePower());
+    }
+  }
+
+  /** Returns the velocity, in inches per second, that a power means in velocity control. */
+  static double getDriveVelocity(double power) {
+    return power * getMaxDriveVelocity();
+  }
+
+  /** Returns the fastest speed, in inches per second, the drive motors can hold. */
+  public static double getMaxDriveVelocity() {
+    return SwerveModule.DRIVE_FEEDFORWARD.getMaxVelocity(Constants.NOMINAL_VOLTAGE);
+  }
+
+  public void setControlType(ControlState controlType) {
+    controlState = controlType;
+  }
+
+  public ControlState getControlType() {
+    return controlState;
   }
 
   public void setAllToAngle(double angle) {
@@ -1,10 +1,14 @@
 package frc.robot.components;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.DemandType;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+import frc.lib.driver.LazyTalonSrx;
 import frc.lib.driver.TalonSrxFactory;
+import frc.lib.util.ModuleSensors;
+import frc.lib.util.MotorFeedforward;
+import frc.lib.util.SimpleUtil;
 import frc.robot.Constants;
 
 /**
@@ -17,15 +21,35 @@ import frc.robot.Constants;
  */
 public class SwerveModule {
 
-  private TalonSRX turnMotor;
-  private TalonSRX driveMotor;
+  private LazyTalonSrx turnMotor;
+  private LazyTalonSrx driveMotor;
 
   private double zeroAngleOffset;
   private double targetAngle;
+  private boolean hasTargetAngle;
   private double lastDrivePower;
+  private int loopsSinceResetCheck;
+
+  // The loop's readings are filled into whichever buffer is not being read and then swapped in, so
+  // the auto thread never sees half of one loop's readings and half of the next.
+  private final ModuleSensors[] sensorBuffers = {new ModuleSensors(), new ModuleSensors()};
+  private volatile ModuleSensors sensors = sensorBuffers[0];
 
   public static final double INCHES_PER_ENCODER_PULSE = 60.0 / 3029.75;
 
+  public static final MotorFeedforward DRIVE_FEEDFORWARD =
+      new MotorFeedforward(
+          Constants.SWERVE_DRIVE_KS, Constants.SWERVE_DRIVE_KV, Constants.SWERVE_DRIVE_KA);
+
+  // Motion magic uses the drive Talon's default profile slot, and velocity control uses the next.
+  private static final int MOTION_MAGIC_SLOT = 0;
+  private static final int VELOCITY_SLOT = 1;
+
+  private int selectedSlot = MOTION_MAGIC_SLOT;
+
+  // A brownout is rare, so the Talons are only asked whether they have reset every half second.
+  private static final int RESET_CHECK_LOOPS = 25;
+
   private static TalonSrxFactory.Configuration driveConfiguration;
   private static TalonSrxFactory.Configuration turnConfiguration;
 
@@ -43,6 +67,8 @@ public class SwerveModule {
     driveConfiguration.peakCurrentLimitDuration = 10;
     driveConfiguration.enableCurrentLimit = true;
     driveConfiguration.openLoopRampTimeSeconds = 0.25;
+    driveConfiguration.voltageCompensationSaturation = Constants.NOMINAL_VOLTAGE;
+    driveConfiguration.enableVoltageCompensation = true;
     driveConfiguration.motionAcceleration =
         (int) (Constants.SWERVE_MAX_ACCELERATION / INCHES_PER_ENCODER_PULSE / 10.0);
     driveConfiguration.motionCruiseVelocity =
@@ -67,7 +93,15 @@ public class SwerveModule {
     driveMotor = TalonSrxFactory.createTalon(driveTalonID, driveConfiguration);
     turnMotor = TalonSrxFactory.createTalon(turnTalonID, turnConfiguration);
 
+    // The feedforward does most of the work, so the velocity loop only corrects what is left.
+    driveMotor.config_kP(
+        VELOCITY_SLOT, Constants.SWERVE_VELOCITY_KP, driveConfiguration.timeoutInMs);
+    driveMotor.config_kI(VELOCITY_SLOT, 0.0, driveConfiguration.timeoutInMs);
+    driveMotor.config_kD(VELOCITY_SLOT, 0.0, driveConfiguration.timeoutInMs);
+    driveMotor.config_kF(VELOCITY_SLOT, 0.0, driveConfiguration.timeoutInMs);
+
     zeroAngleOffset = angleOffset;
+    readSensors();
     setTargetAngle(0);
   }
 
@@ -75,11 +109,11 @@ public class SwerveModule {
     setDrivePower(0);
   }
 
-  public TalonSRX getDriveMotor() {
+  public LazyTalonSrx getDriveMotor() {
     return driveMotor;
   }
 
-  public TalonSRX getTurnMotor() {
+  public LazyTalonSrx getTurnMotor() {
     return turnMotor;
   }
 
@@ -95,20 +129,104 @@ public class SwerveModule {
     return targetAngle;
   }
 
+  /**
+   * Reads every sensor on the module once. This is done at the start of each loop, and all of the
+   * getters below return the readings from the last time it was called. Every so often it also
+   * checks for a Talon that has reset, so the next setpoint is sent to it even if it has not
+   * changed.
+   */
+  public void readSensors() {
+    loopsSinceResetCheck++;
+    if (loopsSinceResetCheck >= RESET_CHECK_LOOPS) {
+      loopsSinceResetCheck = 0;
+      checkForResets();
+    }
+
+    ModuleSensors next = sensors == sensorBuffers[0] ? sensorBuffers[1] : sensorBuffers[0];
+    readSensors(next);
+    sensors = next;
+  }
+
+  /**
+   * Forgets what was sent to any Talon that has reset. A Talon that browned out comes back neutral
+   * on slot 0, whatever its cache says it was sent. The turn Talon is sent its target straight
+   * away, unless no target has been set yet, since a raw position of 0 ignores the module offset.
+   */
+  private void checkForResets() {
+    if (driveMotor.hasResetOccurred()) {
+      driveMotor.resetCache();
+      selectedSlot = MOTION_MAGIC_SLOT;
+    }
+    if (turnMotor.hasResetOccurred()) {
+      turnMotor.resetCache();
+      if (hasTargetAngle) {
+        turnMotor.set(ControlMode.Position, targetAngle);
+      }
+    }
+  }
+
+  /**
+   * Reads every sensor on the module into the given readings instead of the module's own, for code
+   * that runs on its own thread at a different rate than the main loop.
+   */
+  public void readSensors(ModuleSensors readings) {
+    readings.set(
+        driveMotor.getSelectedSensorPosition(0),
+        driveMotor.getSelectedSensorVelocity(0),
+        turnMotor.getSelectedSensorPosition(0),
+        driveMotor.getOutputCurrent(),
+        turnMotor.getOutputCurrent(),
+        driveMotor.getInverted());
+  }
+
+  public ModuleSensors getSensors() {
+    return sensors;
+  }
+
   public double getRawAbsAngle() {
-    return (double) turnMotor.getSelectedSensorPosition(0) * (360.0 / 1024.0);
+    return sensors.getTurnPosition() * (360.0 / 1024.0);
   }
 
   public double getTurnEnc() {
-    return (double) turnMotor.getSelectedSensorPosition(0);
+    return sensors.getTurnPosition();
   }
 
   public double getAbsAngle() {
-    return ((double) turnMotor.getSelectedSensorPosition(0) * (360.0 / 1024.0)) - zeroAngleOffset;
+    return (sensors.getTurnPosition() * (360.0 / 1024.0)) - zeroAngleOffset;
+  }
+
+  /**
+   * Returns the angle the module moves towards as its drive distance increases. The module flips
+   * around rather than turning more than 90 degrees and un-inverts its drive motor to match, so
+   * this is the current angle turned halfway around whenever the drive motor is not inverted.
+   */
+  public double getDriveDirection() {
+    return getDriveDirection(sensors);
+  }
+
+  public double getDriveDirection(ModuleSensors readings) {
+    double angle = getCurrentAngle(readings);
+    return readings.isDriveInverted() ? angle : angle + 180.0;
   }
 
   public double getDriveDistanceInches() {
-    return getDistanceFromEncoderPosition(driveMotor.getSelectedSensorPosition(0));
+    return getDriveDistanceInches(sensors);
+  }
+
+  public double getDriveDistanceInches(ModuleSensors readings) {
+    return getDistanceFromEncoderPosition(readings.getDrivePosition());
+  }
+
+  public double getDriveVelocityInchesPerSecond() {
+    return getDistanceFromEncoderPosition(sensors.getDriveVelocity() * 10.0);
+  }
+
+  public double getDriveCurrent() {
+    return sensors.getDriveCurrent();
+  }
+
+  public double getTurnCurrent() {
+    return sensors.getTurnCurrent();
   }
 
   public void setDrivePower(double percent) {
@@ -116,12 +234,38 @@ public class SwerveModule {
     driveMotor.set(ControlMode.PercentOutput, percent);
   }
 
+  /**
+   * Drives the module at a velocity in inches per second. The Talon closes the loop on its encoder,
+   * on top of a feedforward for the velocity and acceleration, so the module holds the same speed
+   * no matter how charged the battery is.
+   */
+  public void setDriveVelocity(double velocity, double acceleration) {
+    lastDrivePower = velocity / DRIVE_FEEDFORWARD.getMaxVelocity(Constants.NOMINAL_VOLTAGE);
+    selectSlot(VELOCITY_SLOT);
+    driveMotor.set(
+        ControlMode.Velocity,
+        getEncoderVelocityFromVelocity(velocity),
+        DemandType.ArbitraryFeedForward,
+        DRIVE_FEEDFORWARD.calculate(velocity, acceleration) / Constants.NOMINAL_VOLTAGE);
+  }
+
+  private void selectSlot(int slot) {
+    if (slot != selectedSlot) {
+      driveMotor.selectProfileSlot(slot, 0);
+      selectedSlot = slot;
+    }
+  }
+
   public void setTurnPower(double percent) {
     turnMotor.set(ControlMode.PercentOutput, percent);
   }
 
   public double getCurrentAngle() {
-    double angle = turnMotor.getSelectedSensorPosition(0) * (360.0 / 1024.0);
+    return getCurrentAngle(sensors);
+  }
+
+  private double getCurrentAngle(ModuleSensors readings) {
+    double angle = readings.getTurnPosition() * (360.0 / 1024.0);
     angle -= zeroAngleOffset;
     angle %= 360;
     if (angle < 0) {
@@ -132,13 +276,29 @@ public class SwerveModule {
   }
 
   public void setTargetAngle(double angle) {
-    targetAngle = angle;
+    double rawAngle = getTargetRawAngle(angle, zeroAngleOffset, getRawAbsAngle());
+    boolean flipped =
+        Math.abs(SimpleUtil.getContinuousInRange(rawAngle - angle - zeroAngleOffset, 360.0)) > 90.0;
+    driveMotor.setInverted(!flipped);
+
+    targetAngle = rawAngle * (1024.0 / 360.0);
+    hasTargetAngle = true;
+    turnMotor.set(ControlMode.Position, targetAngle);
+  }
+
+  /**
+   * Returns the raw angle, in degrees, that a module at the current raw angle should turn to in
+   * order to point in the given direction. The module takes the shorter way around and turns to
+   * face the opposite direction instead whenever that is closer, in which case it has to drive
+   * backwards.
+   */
+  static double getTargetRawAngle(double angle, double zeroAngleOffset, double currentRawAngle) {
+    double targetAngle = angle;
 
     targetAngle %= 360;
     targetAngle += zeroAngleOffset;
 
-    double currentAngle = getRawAbsAngle();
-    double currentAngleMod = currentAngle % 360;
+    double currentAngleMod = currentRawAngle % 360;
     if (currentAngleMod < 0) {
       currentAngleMod += 360;
     }
@@ -152,25 +312,17 @@ public class SwerveModule {
     }
 
     delta = currentAngleMod - targetAngle;
-    if (delta > 90 || delta < -90) {
-      if (delta > 90) {
-        targetAngle += 180;
-      } else if (delta < -90) {
-        targetAngle -= 180;
-      }
-      driveMotor.setInverted(false);
-    } else {
-      driveMotor.setInverted(true);
+    if (delta > 90) {
+      targetAngle += 180;
+    } else if (delta < -90) {
+      targetAngle -= 180;
     }
 
-    targetAngle += currentAngle - currentAngleMod;
-
-    targetAngle *= 1024.0 / 360.0;
-
-    turnMotor.set(ControlMode.Position, targetAngle);
+    return targetAngle + (currentRawAngle - currentAngleMod);
   }
 
   public void setTargetDistance(double distance) {
+    selectSlot(MOTION_MAGIC_SLOT);
     driveMotor.set(ControlMode.MotionMagic, distance);
   }
 
@@ -189,4 +341,9 @@ public class SwerveModule {
   public double getEncoderPositionFromDistance(double distance) {
     return distance / INCHES_PER_ENCODER_PULSE;
   }
+
+  /** Converts inches per second into encoder pulses per 100 milliseconds, as the Talon uses. */
+  public static double getEncoderVelocityFromVelocity(double velocity) {
+    return velocity / INCHES_PER_ENCODER_PULSE / 10.0;
+  }
 }
@@ -0,0 +1,52 @@
+package frc.lib.characterization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CharacterizationLogTest {
+
+  @Test
+  @DisplayName("Samples should be timed from the first one and stop being added once it is full")
+  public void logShouldHoldItsCapacity() {
+    CharacterizationLog log = new CharacterizationLog(2);
+
+    assertThat(log.add(100.0, 1.0, 2.0, 3.0)).isTrue();
+    assertThat(log.add(100.5, 4.0, 5.0, 6.0)).isTrue();
+    assertThat(log.isFull()).isTrue();
+    assertThat(log.add(101.0, 7.0, 8.0, 9.0)).isFalse();
+
+    assertThat(log.getSize()).isEqualTo(2);
+    assertThat(log.getTime(0)).isEqualTo(0.0, Offset.offset(0.0001));
+    assertThat(log.getTime(1)).isEqualTo(0.5, Offset.offset(0.0001));
+    assertThat(log.getVoltage(1)).isEqualTo(4.0, Offset.offset(0.0001));
+    assertThat(log.getPosition(1)).isEqualTo(5.0, Offset.offset(0.0001));
+    assertThat(log.getVelocity(1)).isEqualTo(6.0, Offset.offset(0.0001));
+  }
+
+  @Test
+  @DisplayName("A log should read back the same as it was written")
+  public void logShouldRoundTripThroughFile() throws IOException {
+    CharacterizationLog log = new CharacterizationLog(100);
+    for (int i = 0; i < 50; i++) {
+      log.add(i * 0.005, i * 0.01, i * 0.2, i * 0.4);
+    }
+
+    File file = File.createTempFile("characterization", ".bin");
+    file.deleteOnExit();
+    log.write(file);
+    CharacterizationLog readLog = CharacterizationLog.read(file);
+
+    assertThat(readLog.getSize()).isEqualTo(50);
+    for (int i = 0; i < 50; i++) {
+      assertThat(readLog.getTime(i)).isEqualTo(log.getTime(i), Offset.offset(0.0));
+      assertThat(readLog.getVoltage(i)).isEqualTo(log.getVoltage(i), Offset.offset(0.0));
+      assertThat(readLog.getPosition(i)).isEqualTo(log.getPosition(i), Offset.offset(0.0));
+      assertThat(readLog.getVelocity(i)).isEqualTo(log.getVelocity(i), Offset.offset(0.0));
+    }
+  }
+}
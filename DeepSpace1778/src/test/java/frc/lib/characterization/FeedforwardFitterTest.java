@@ -0,0 +1,65 @@
+package frc.lib.characterization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import frc.lib.util.MotorFeedforward;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FeedforwardFitterTest {
+
+  private static final double PERIOD = 0.005;
+
+  private MotorFeedforward motor = new MotorFeedforward(1.0, 0.08, 0.02);
+
+  /** Simulates a motor that follows the feedforward exactly while it is driven by a voltage. */
+  private CharacterizationLog simulate(double rampRate, double stepVoltage, double duration) {
+    CharacterizationLog log = new CharacterizationLog((int) (duration / PERIOD) + 1);
+    double position = 0.0;
+    double velocity = 0.0;
+    double voltage = 0.0;
+    for (double time = 0.0; time < duration; time += PERIOD) {
+      log.add(time, voltage, position, velocity);
+
+      voltage = (rampRate * time) + stepVoltage;
+      double frictionless = voltage - (motor.getVelocityGain() * velocity);
+      double friction = motor.getStaticGain() * Math.signum(velocity != 0.0 ? velocity : voltage);
+      double acceleration =
+          Math.abs(voltage) > motor.getStaticGain() || velocity != 0.0
+              ? (frictionless - friction) / motor.getAccelerationGain()
+              : 0.0;
+      position += velocity * PERIOD;
+      velocity += acceleration * PERIOD;
+    }
+    return log;
+  }
+
+  @Test
+  @DisplayName("The fitter should find the feedforward of a motor from ramps and steps")
+  public void fitterShouldRecoverGains() {
+    FeedforwardFitter fitter = new FeedforwardFitter();
+    fitter.add(simulate(0.25, 0.0, 10.0));
+    fitter.add(simulate(-0.25, 0.0, 10.0));
+    fitter.add(simulate(0.0, 6.0, 2.0));
+    fitter.add(simulate(0.0, -6.0, 2.0));
+
+    MotorFeedforward feedforward = fitter.fit();
+
+    assertThat(feedforward.getStaticGain()).isEqualTo(1.0, Offset.offset(0.05));
+    assertThat(feedforward.getVelocityGain()).isEqualTo(0.08, Offset.offset(0.002));
+    assertThat(feedforward.getAccelerationGain()).isEqualTo(0.02, Offset.offset(0.002));
+    assertThat(fitter.getRSquared(feedforward)).isGreaterThan(0.99);
+  }
+
+  @Test
+  @DisplayName("The fitter should refuse to fit when no sample was moving")
+  public void fitterShouldNeedMovingSamples() {
+    FeedforwardFitter fitter = new FeedforwardFitter();
+    fitter.add(simulate(0.0, 0.5, 1.0));
+
+    assertThat(fitter.getSampleCount()).isEqualTo(0);
+    assertThrows(IllegalStateException.class, fitter::fit);
+  }
+}
@@ -0,0 +1,94 @@
+package frc.lib.kinematics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SwerveKinematicsTest {
+
+  private SwerveKinematics square =
+      new SwerveKinematics(
+          new double[] {10.0, -10.0},
+          new double[] {10.0, 10.0},
+          new double[] {-10.0, -10.0},
+          new double[] {-10.0, 10.0});
+
+  // Three modules around a center of rotation that is not in the middle of them.
+  private SwerveKinematics triangle =
+      new SwerveKinematics(
+          new double[] {20.0, 0.0}, new double[] {-4.0, -12.0}, new double[] {-4.0, 18.0});
+
+  @Test
+  @DisplayName("Driving without rotating should point every module the same way at the same speed")
+  public void translationShouldMoveModulesTogether() {
+    double[] speeds = new double[3];
+    double[] angles = new double[3];
+    triangle.toModuleStates(0.6, 0.6, 0.0, speeds, angles);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(speeds[i]).isEqualTo(Math.sqrt(0.72), Offset.offset(1e-9));
+      assertThat(angles[i]).isEqualTo(45.0, Offset.offset(1e-9));
+    }
+  }
+
+  @Test
+  @DisplayName("Rotating in place should point every module around the center of rotation")
+  public void rotationShouldCircleCenter() {
+    double[] speeds = new double[4];
+    double[] angles = new double[4];
+    square.toModuleStates(0.0, 0.0, 1.0 / square.getMaxModuleRadius(), speeds, angles);
+
+    double[] wantedAngles = {45.0, 135.0, -45.0, -135.0};
+    for (int i = 0; i < 4; i++) {
+      assertThat(speeds[i]).isEqualTo(1.0, Offset.offset(1e-9));
+      assertThat(angles[i]).isEqualTo(wantedAngles[i], Offset.offset(1e-9));
+    }
+  }
+
+  @Test
+  @DisplayName("Forward kinematics should recover the chassis motion from the module states")
+  public void forwardKinematicsShouldInvertInverseKinematics() {
+    double[] speeds = new double[3];
+    double[] angles = new double[3];
+    double[] chassis = new double[3];
+
+    for (double rotation = -0.05; rotation <= 0.05; rotation += 0.025) {
+      triangle.toModuleStates(0.3, -0.8, rotation, speeds, angles);
+      triangle.toChassisMotion(speeds, angles, chassis);
+
+      assertThat(chassis[0]).isEqualTo(0.3, Offset.offset(1e-9));
+      assertThat(chassis[1]).isEqualTo(-0.8, Offset.offset(1e-9));
+      assertThat(chassis[2]).isEqualTo(rotation, Offset.offset(1e-9));
+    }
+  }
+
+  @Test
+  @DisplayName("Forward kinematics should average out a module that disagrees with the others")
+  public void forwardKinematicsShouldFitLeastSquares() {
+    double[] speeds = {1.0, 1.0, 1.0, 1.2};
+    double[] angles = {0.0, 0.0, 0.0, 0.0};
+    double[] chassis = new double[3];
+    square.toChassisMotion(speeds, angles, chassis);
+
+    assertThat(chassis[0]).isEqualTo(1.05, Offset.offset(1e-9));
+    assertThat(chassis[1]).isEqualTo(0.0, Offset.offset(1e-9));
+    assertThat(chassis[2]).isEqualTo(-0.2 / 80.0, Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("Desaturating should only scale the speeds down when one of them is too fast")
+  public void desaturateShouldKeepProportions() {
+    double[] speeds = {0.5, -2.0, 1.0};
+    SwerveKinematics.desaturate(speeds, 1.0);
+    assertThat(speeds[0]).isEqualTo(0.25, Offset.offset(1e-9));
+    assertThat(speeds[1]).isEqualTo(-1.0, Offset.offset(1e-9));
+    assertThat(speeds[2]).isEqualTo(0.5, Offset.offset(1e-9));
+
+    double[] slowSpeeds = {0.5, -0.75};
+    SwerveKinematics.desaturate(slowSpeeds, 1.0);
+    assertThat(slowSpeeds[0]).isEqualTo(0.5);
+    assertThat(slowSpeeds[1]).isEqualTo(-0.75);
+  }
+}
@@ -0,0 +1,129 @@
+package frc.lib.kinematics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SwerveOdometryTest {
+
+  private SwerveOdometry odometry =
+      new SwerveOdometry(
+          new SwerveKinematics(
+              new double[] {10.0, 10.0},
+              new double[] {10.0, -10.0},
+              new double[] {-10.0, 10.0},
+              new double[] {-10.0, -10.0}));
+
+  private double[] distances = new double[4];
+  private double[] directions = new double[4];
+
+  private void drive(double distance, double direction, double angle) {
+    for (int i = 0; i < 4; i++) {
+      distances[i] += distance;
+      directions[i] = direction;
+    }
+    odometry.update(0.0, angle, distances, directions);
+  }
+
+  @Test
+  @DisplayName("Driving straight should move the pose in the direction the robot is facing")
+  public void straightDriveShouldFollowHeading() {
+    drive(0.0, 0.0, 30.0);
+    for (int i = 0; i < 100; i++) {
+      drive(0.5, 0.0, 30.0);
+    }
+
+    Pose pose = odometry.getPose();
+    assertThat(pose.getForward())
+        .isEqualTo(50.0 * Math.cos(Math.toRadians(30.0)), Offset.offset(1e-9));
+    assertThat(pose.getStrafe())
+        .isEqualTo(50.0 * Math.sin(Math.toRadians(30.0)), Offset.offset(1e-9));
+    assertThat(pose.getAngle()).isEqualTo(30.0);
+  }
+
+  @Test
+  @DisplayName("Strafing should move the pose to the side of the way the robot is facing")
+  public void strafeShouldMoveSideways() {
+    drive(0.0, 90.0, 0.0);
+    for (int i = 0; i < 40; i++) {
+      drive(0.5, 90.0, 0.0);
+    }
+
+    assertThat(odometry.getPose().getForward()).isEqualTo(0.0, Offset.offset(1e-9));
+    assertThat(odometry.getPose().getStrafe()).isEqualTo(20.0, Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("Driving while turning should follow an arc")
+  public void turningDriveShouldFollowArc() {
+    drive(0.0, 0.0, 0.0);
+    for (int i = 1; i <= 180; i++) {
+      drive(0.5, 0.0, i * 0.5);
+    }
+
+    double radius = 0.5 / Math.toRadians(0.5);
+    assertThat(odometry.getPose().getForward()).isEqualTo(radius, Offset.offset(0.01));
+    assertThat(odometry.getPose().getStrafe()).isEqualTo(radius, Offset.offset(0.01));
+  }
+
+  @Test
+  @DisplayName("A large step should count as motion when nothing was reset")
+  public void largeStepShouldMovePose() {
+    drive(0.0, 0.0, 0.0);
+    drive(40.0, 0.0, 0.0);
+
+    assertThat(odometry.getPose().getForward()).isEqualTo(40.0, Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("An encoder reset should not move the pose, even if it shows up late")
+  public void encoderResetShouldNotMovePose() {
+    drive(0.0, 0.0, 0.0);
+    drive(3.0, 0.0, 0.0);
+
+    odometry.resetDistances();
+    drive(0.5, 0.0, 0.0);
+    drive(-3.5, 0.0, 0.0);
+    drive(0.5, 0.0, 0.0);
+
+    assertThat(odometry.getPose().getForward()).isEqualTo(4.0, Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("Zeroing the gyro should keep the pose's heading")
+  public void gyroZeroShouldKeepHeading() {
+    drive(0.0, 0.0, 60.0);
+    drive(1.0, 0.0, 60.0);
+
+    odometry.resetAngle();
+    drive(1.0, 0.0, 60.0);
+    drive(1.0, 0.0, 0.0);
+    drive(1.0, 0.0, 0.0);
+
+    Pose pose = odometry.getPose();
+    assertThat(pose.getAngle()).isEqualTo(60.0, Offset.offset(1e-9));
+    assertThat(pose.getForward()).isEqualTo(2.0, Offset.offset(1e-9));
+    assertThat(pose.getStrafe())
+        .isEqualTo(4.0 * Math.sin(Math.toRadians(60.0)), Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("Resetting should move the pose there and keep tracking from it")
+  public void resetShouldMovePose() {
+    drive(0.0, 0.0, 10.0);
+    drive(3.0, 0.0, 10.0);
+
+    odometry.reset(new Pose(100.0, 50.0, 90.0, 0.0));
+    assertThat(odometry.getPose().getForward()).isEqualTo(100.0);
+
+    drive(0.0, 0.0, 10.0);
+    drive(2.0, 0.0, 10.0);
+
+    Pose pose = odometry.getPose();
+    assertThat(pose.getForward()).isEqualTo(100.0, Offset.offset(1e-9));
+    assertThat(pose.getStrafe()).isEqualTo(52.0, Offset.offset(1e-9));
+    assertThat(pose.getAngle()).isEqualTo(90.0, Offset.offset(1e-9));
+  }
+}
@@ -0,0 +1,111 @@
+package frc.lib.pathing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MotionProfileTest {
+
+  private Path tenFeetForwards = new Path(0, 85.0, 48.0, 0.0, new PathSegment.Line(120, 0));
+  private Path oneFootForwards = new Path(0, 85.0, 48.0, 0.0, new PathSegment.Line(12, 0));
+
+  @Test
+  @DisplayName("A trapezoidal profile should accelerate, cruise and decelerate to the path length")
+  public void trapezoidalProfileShouldReachPathLength() {
+    MotionProfile profile = new MotionProfile(tenFeetForwards);
+
+    assertThat(profile.getDuration())
+        .isEqualTo((48.0 / 85.0) + (120.0 / 48.0), Offset.offset(0.001));
+    assertThat(profile.getPositionAtTime(0.0)).isEqualTo(0.0, Offset.offset(0.001));
+    assertThat(profile.getVelocityAtTime(0.0)).isEqualTo(0.0, Offset.offset(0.001));
+    assertThat(profile.getAccelerationAtTime(0.1)).isEqualTo(85.0, Offset.offset(0.001));
+    assertThat(profile.getVelocityAtTime(1.5)).isEqualTo(48.0, Offset.offset(0.001));
+    assertThat(profile.getAccelerationAtTime(1.5)).isEqualTo(0.0, Offset.offset(0.001));
+    assertThat(profile.getPositionAtTime(profile.getDuration() + profile.getTimeStep()))
+        .isEqualTo(120.0, Offset.offset(0.001));
+    assertThat(profile.getVelocityAtTime(profile.getDuration() + profile.getTimeStep()))
+        .isEqualTo(0.0, Offset.offset(0.001));
+  }
+
+  @Test
+  @DisplayName("A path too short to reach the maximum velocity should have a triangular profile")
+  public void shortProfileShouldBeTriangular() {
+    MotionProfile profile = new MotionProfile(oneFootForwards);
+
+    assertThat(profile.getDuration()).isEqualTo(2.0 * Math.sqrt(12.0 / 85.0), Offset.offset(0.001));
+    assertThat(profile.getVelocityAtTime(profile.getDuration() / 2.0))
+        .isEqualTo(Math.sqrt(12.0 * 85.0), Offset.offset(1.0));
+    assertThat(profile.getPositionAtTime(profile.getDuration() + profile.getTimeStep()))
+        .isEqualTo(12.0, Offset.offset(0.001));
+  }
+
+  @Test
+  @DisplayName("A jerk limited profile should stay within every limit and still reach the end")
+  public void jerkLimitedProfileShouldRespectLimits() {
+    double maxJerk = 400.0;
+    MotionProfile profile = new MotionProfile(tenFeetForwards, 0.005, maxJerk);
+
+    assertThat(profile.getDuration())
+        .isEqualTo((48.0 / 85.0) + (120.0 / 48.0) + (85.0 / maxJerk), Offset.offset(0.001));
+
+    assertWithinLimits(profile, 120.0, 48.0, 85.0, maxJerk);
+  }
+
+  @Test
+  @DisplayName("A jerk limited profile on a short path should lower its peaks to stay in limits")
+  public void shortJerkLimitedProfileShouldRespectLimits() {
+    double maxJerk = 400.0;
+
+    // Long enough to reach the maximum acceleration but not velocity, too short to cruise for as
+    // long as a ramp takes, and too short to reach the maximum acceleration at all.
+    for (double length : new double[] {12.0, 40.0, 2.0}) {
+      MotionProfile profile = new MotionProfile(length, 48.0, 85.0, maxJerk, 0.005);
+      assertWithinLimits(profile, length, 48.0, 85.0, maxJerk);
+    }
+  }
+
+  @Test
+  @DisplayName("A profile should not be made from limits that are not positive")
+  public void invalidLimitsShouldThrow() {
+    Path unlimited = new Path(0, 0.0, new PathSegment.Line(12, 0));
+
+    assertThrows(IllegalArgumentException.class, () -> new MotionProfile(unlimited));
+    assertThrows(
+        IllegalArgumentException.class, () -> new MotionProfile(12.0, 48.0, 85.0, -400.0, 0.02));
+    assertThrows(
+        IllegalArgumentException.class, () -> new MotionProfile(12.0, 48.0, 85.0, 0.0, 0.0));
+  }
+
+  private static void assertWithinLimits(
+      MotionProfile profile,
+      double length,
+      double maxVelocity,
+      double maxAcceleration,
+      double maxJerk) {
+    double integratedPosition = 0.0;
+    double previousAcceleration = 0.0;
+    for (int i = 1; i < profile.getSampleCount(); i++) {
+      double time = i * profile.getTimeStep();
+      double acceleration = profile.getAccelerationAtTime(time);
+
+      assertThat(profile.getVelocityAtTime(time)).isBetween(0.0, maxVelocity + 0.001);
+      assertThat(Math.abs(acceleration)).isLessThanOrEqualTo(maxAcceleration + 0.001);
+      assertThat(Math.abs(acceleration - previousAcceleration) / profile.getTimeStep())
+          .isLessThanOrEqualTo(maxJerk + 0.001);
+
+      double previousVelocity = profile.getVelocityAtTime(time - profile.getTimeStep());
+      integratedPosition +=
+          (previousVelocity + profile.getVelocityAtTime(time)) * profile.getTimeStep() / 2.0;
+      previousAcceleration = acceleration;
+    }
+
+    assertThat(integratedPosition).isEqualTo(length, Offset.offset(0.01));
+    assertThat(profile.getPositionAtTime(profile.getDuration() + profile.getTimeStep()))
+        .isEqualTo(length, Offset.offset(0.001));
+    assertThat(profile.getVelocityAtTime(profile.getDuration() + profile.getTimeStep()))
+        .isEqualTo(0.0, Offset.offset(0.001));
+  }
+}
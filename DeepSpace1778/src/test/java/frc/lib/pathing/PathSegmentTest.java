@@ -114,4 +114,60 @@ public class PathSegmentTest {
       assertThat(flippedPath.getLength()).isEqualTo(2.0, Offset.offset(0.001));
     }
   }
+
+  public static class QuinticSplineTest {
+    private PathSegment straightPath = new PathSegment.QuinticSpline(48, 0, 0, 0);
+    private PathSegment path = new PathSegment.QuinticSpline(48, 24, 0, 0);
+    private PathSegment flippedPath = path.getFlipped();
+
+    @Test
+    @DisplayName("A spline with no strafe or turn should be a straight line")
+    public void straightSplineShouldBeLine() {
+      assertThat(straightPath.getLength()).isEqualTo(48.0, Offset.offset(0.001));
+      assertThat(straightPath.getDirection(0.5)).isEqualTo(0.0, Offset.offset(0.001));
+      assertThat(straightPath.getDirection(1.0)).isEqualTo(0.0, Offset.offset(0.001));
+    }
+
+    @Test
+    @DisplayName("A symmetric spline should start and end straight and turn evenly either way")
+    public void directionShouldBeSymmetric() {
+      assertThat(path.getDirection(0.0)).isEqualTo(0.0, Offset.offset(0.001));
+      assertThat(path.getDirection(0.5)).isGreaterThan(0.0);
+      assertThat(path.getDirection(1.0)).isEqualTo(0.0, Offset.offset(0.001));
+
+      for (double distance = 0.0; distance <= path.getLength(); distance += 1.0) {
+        assertThat(path.getDirectionAtDistance(distance))
+            .isEqualTo(
+                path.getDirectionAtDistance(path.getLength() - distance), Offset.offset(0.05));
+        assertThat(flippedPath.getDirectionAtDistance(distance))
+            .isEqualTo(-path.getDirectionAtDistance(distance), Offset.offset(0.001));
+      }
+    }
+
+    @Test
+    @DisplayName("Following the spline's direction along its length should reach its end point")
+    public void directionShouldReachEndPoint() {
+      double forward = 0.0;
+      double strafe = 0.0;
+      double step = path.getLength() / 10000.0;
+      for (double distance = step / 2.0; distance < path.getLength(); distance += step) {
+        double direction = Math.toRadians(path.getDirectionAtDistance(distance));
+        forward += Math.cos(direction) * step;
+        strafe += Math.sin(direction) * step;
+      }
+
+      assertThat(forward).isEqualTo(48.0, Offset.offset(0.05));
+      assertThat(strafe).isEqualTo(24.0, Offset.offset(0.05));
+    }
+
+    @Test
+    @DisplayName("A spline that ends in a new direction should arrive in that direction")
+    public void directionShouldEndAtEndDirection() {
+      PathSegment turningPath = new PathSegment.QuinticSpline(48, 48, 90, 0);
+
+      assertThat(turningPath.getDirection(1.0)).isEqualTo(90.0, Offset.offset(0.001));
+      assertThat(turningPath.getFlipped().getDirection(1.0))
+          .isEqualTo(-90.0, Offset.offset(0.001));
+    }
+  }
 }
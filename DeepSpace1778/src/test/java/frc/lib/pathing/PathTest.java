@@ -2,7 +2,12 @@ package frc.lib.pathing;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import frc.lib.util.SimpleUtil;
 import frc.robot.Constants;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -99,4 +104,165 @@ public class PathTest {
     assertThat(flippedPath.getAngleAtDistance(138.0 + curveLength))
         .isEqualTo(30.0, Offset.offset(0.001));
   }
+
+  @Test
+  @DisplayName("A compiled path should match the analytic path it was sampled from")
+  public void compiledPathShouldMatchAnalyticPath() {
+    Path path =
+        new Path(
+            -90,
+            0.0,
+            0.0,
+            0.0,
+            new PathSegment.Line(24, 0),
+            new PathSegment.ArcedTranslation(24, 24, 0),
+            new PathSegment.Line(60, 330),
+            new PathSegment.Line(12, 330));
+
+    for (Path analyticPath : new Path[] {path, path.getFlipped()}) {
+      CompiledPath compiledPath = new CompiledPath(analyticPath);
+      assertThat(compiledPath.getLength())
+          .isEqualTo(analyticPath.getLength(), Offset.offset(0.001));
+
+      for (double distance = 0.0; distance <= analyticPath.getLength(); distance += 0.37) {
+        assertThat(compiledPath.getDirectionAtDistance(distance))
+            .isEqualTo(analyticPath.getDirectionAtDistance(distance), Offset.offset(0.75));
+
+        double angleError =
+            SimpleUtil.getContinuousInRange(
+                compiledPath.getAngleAtDistance(distance)
+                    - analyticPath.getAngleAtDistance(distance),
+                360.0);
+        assertThat(angleError).isEqualTo(0.0, Offset.offset(0.25));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("The curvature of a compiled arc should be its total turn over its length")
+  public void compiledPathCurvatureShouldMatchArc() {
+    CompiledPath compiledPath =
+        new CompiledPath(new Path(0, 0.0, new PathSegment.RadialArc(36, 90, 0)));
+
+    assertThat(compiledPath.getCurvatureAtDistance(0.0)).isEqualTo(2.5, Offset.offset(0.001));
+    assertThat(compiledPath.getCurvatureAtDistance(18.0)).isEqualTo(2.5, Offset.offset(0.001));
+    assertThat(compiledPath.getCurvatureAtDistance(36.0)).isEqualTo(2.5, Offset.offset(0.001));
+  }
+
+  @Test
+  @DisplayName("A flipped path should be a mirrored view that shares the original path's data")
+  public void flippedPathShouldBeMirroredView() {
+    Path path =
+        new Path(
+            -90,
+            0.0,
+            0.0,
+            10.0,
+            new PathSegment.Line(24, 0),
+            new PathSegment.ArcedTranslation(24, 24, 90),
+            new PathSegment.Line(60, 330));
+    CompiledPath compiledPath = new CompiledPath(path);
+
+    assertThat(path.getFlipped().getFlipped()).isSameAs(path);
+    assertThat(compiledPath.getFlipped().getFlipped()).isSameAs(compiledPath);
+    assertThat(path.getFlipped().getEndAngle()).isEqualTo(30.0, Offset.offset(0.001));
+
+    for (double distance = 0.0; distance <= path.getLength(); distance += 0.37) {
+      assertThat(path.getFlipped().getDirectionAtDistance(distance))
+          .isEqualTo(-path.getDirectionAtDistance(distance), Offset.offset(0.001));
+      assertThat(path.getFlipped().getAngleAtDistance(distance))
+          .isEqualTo(
+              SimpleUtil.flooredModulo(-path.getAngleAtDistance(distance), 360.0),
+              Offset.offset(0.001));
+      assertThat(compiledPath.getFlipped().getCurvatureAtDistance(distance))
+          .isEqualTo(-compiledPath.getCurvatureAtDistance(distance), Offset.offset(0.001));
+    }
+  }
+
+  @Test
+  @DisplayName("Paths sharing a segment should not change each other's angles")
+  public void sharedSegmentsShouldNotAffectOtherPaths() {
+    PathSegment sharedLine = new PathSegment.Line(24, 90);
+    Path fromZero = new Path(0, 0.0, sharedLine);
+    Path fromOneEighty = new Path(0, 180.0, sharedLine);
+
+    assertThat(fromZero.getAngleAtDistance(12.0)).isEqualTo(45.0, Offset.offset(0.001));
+    assertThat(fromOneEighty.getAngleAtDistance(12.0)).isEqualTo(135.0, Offset.offset(0.001));
+  }
+
+  @Test
+  @DisplayName("Compiled paths should read back from a file exactly as they were written")
+  public void compiledPathsShouldRoundTripThroughFile() throws IOException {
+    Map<String, CompiledPath> paths = new LinkedHashMap<>();
+    paths.put("arc", new CompiledPath(new Path(0, 0.0, new PathSegment.RadialArc(36, 90, 0))));
+    paths.put("line", new CompiledPath(new Path(0, 0.0, new PathSegment.Line(120, 45))));
+
+    File file = File.createTempFile("paths", ".bin");
+    file.deleteOnExit();
+    CompiledPathFile.write(file, paths);
+    Map<String, CompiledPath> readPaths = CompiledPathFile.read(file);
+
+    assertThat(readPaths.keySet()).containsExactly("arc", "line");
+    for (String name : paths.keySet()) {
+      CompiledPath path = paths.get(name);
+      CompiledPath readPath = readPaths.get(name);
+      assertThat(readPath.getSampleCount()).isEqualTo(path.getSampleCount());
+      for (double distance = 0.0; distance <= path.getLength(); distance += 0.37) {
+        assertThat(readPath.getDirectionAtDistance(distance))
+            .isEqualTo(path.getDirectionAtDistance(distance));
+        assertThat(readPath.getAngleAtDistance(distance))
+            .isEqualTo(path.getAngleAtDistance(distance));
+        assertThat(readPath.getCurvatureAtDistance(distance))
+            .isEqualTo(path.getCurvatureAtDistance(distance));
+        assertThat(readPath.getStrafePositionAtDistance(distance))
+            .isEqualTo(path.getStrafePositionAtDistance(distance));
+      }
+    }
+  }
+
+  @Test
+  @Tag("slow")
+  @DisplayName("The cost of a lookup should not grow with the number of segments in the path")
+  public void lookupCostShouldNotScaleWithSegmentCount() {
+    double fewSegmentsNanos = measureLookupNanos(createZigZagPath(4));
+    double manySegmentsNanos = measureLookupNanos(createZigZagPath(128));
+
+    assertThat(manySegmentsNanos)
+        .as("ns per lookup with 128 segments, against %.1f ns with 4", fewSegmentsNanos)
+        .isLessThan(fewSegmentsNanos * 4.0);
+  }
+
+  private static Path createZigZagPath(int segmentCount) {
+    PathSegment[] segments = new PathSegment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] =
+          i % 2 == 0 ? new PathSegment.Line(12, 0) : new PathSegment.RadialArc(12, 10, 0);
+    }
+    return new Path(0, 0.0, 0.0, 0.0, segments);
+  }
+
+  private static double measureLookupNanos(Path path) {
+    int samples = 1000;
+    int iterations = 200;
+    double sink = 0;
+
+    for (int i = 0; i < iterations; i++) {
+      for (int j = 0; j < samples; j++) {
+        double distance = path.getLength() * j / samples;
+        sink += path.getAngleAtDistance(distance) + path.getDirectionAtDistance(distance);
+      }
+    }
+
+    long startTime = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      for (int j = 0; j < samples; j++) {
+        double distance = path.getLength() * j / samples;
+        sink += path.getAngleAtDistance(distance) + path.getDirectionAtDistance(distance);
+      }
+    }
+    long elapsedTime = System.nanoTime() - startTime;
+
+    assertThat(sink).isNotNaN();
+    return (double) elapsedTime / (2.0 * iterations * samples);
+  }
 }
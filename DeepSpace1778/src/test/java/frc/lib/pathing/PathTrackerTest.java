@@ -0,0 +1,65 @@
+package frc.lib.pathing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PathTrackerTest {
+
+  private CompiledPath quarterCircle =
+      new CompiledPath(new Path(0, 0.0, new PathSegment.RadialArc(18.0 * Math.PI, 90, 0)));
+
+  // Drives 24 inches forward, turns around on a 6 inch radius and comes back 6 inches to the side.
+  private CompiledPath outAndBack =
+      new CompiledPath(
+          new Path(
+              0,
+              0.0,
+              new PathSegment.Line(24, 0),
+              new PathSegment.RadialArc(6.0 * Math.PI, 180, 0),
+              new PathSegment.Line(24, 0)));
+
+  @Test
+  @DisplayName("The positions of a compiled arc should lie on its circle")
+  public void positionsShouldFollowArc() {
+    for (double distance = 0.0; distance <= quarterCircle.getLength(); distance += 1.0) {
+      double angle = distance / 36.0;
+      assertThat(quarterCircle.getForwardPositionAtDistance(distance))
+          .isEqualTo(36.0 * Math.sin(angle), Offset.offset(0.01));
+      assertThat(quarterCircle.getStrafePositionAtDistance(distance))
+          .isEqualTo(36.0 * (1.0 - Math.cos(angle)), Offset.offset(0.01));
+      assertThat(quarterCircle.getFlipped().getStrafePositionAtDistance(distance))
+          .isEqualTo(-quarterCircle.getStrafePositionAtDistance(distance), Offset.offset(0.001));
+    }
+  }
+
+  @Test
+  @DisplayName("The tracker should find how far along and how far off of the path the robot is")
+  public void trackerShouldFindNearestPoint() {
+    PathTracker tracker = new PathTracker(quarterCircle);
+
+    for (double distance = 0.0; distance <= quarterCircle.getLength(); distance += 0.75) {
+      double angle = distance / 36.0;
+      double radius = 36.0 - 2.0;
+      tracker.update(radius * Math.sin(angle), 36.0 - (radius * Math.cos(angle)));
+
+      assertThat(tracker.getDistance()).isEqualTo(distance, Offset.offset(0.05));
+      assertThat(tracker.getCrossTrackError()).isEqualTo(2.0, Offset.offset(0.01));
+    }
+  }
+
+  @Test
+  @DisplayName("The tracker should not jump to a later part of the path that passes nearby")
+  public void trackerShouldNotSkipAhead() {
+    PathTracker tracker = new PathTracker(outAndBack);
+
+    // The way back is closer to the robot than the way out, but the robot has not got there yet.
+    for (double distance = 0.0; distance <= 20.0; distance += 0.5) {
+      tracker.update(distance, 7.0);
+      assertThat(tracker.getDistance()).isEqualTo(distance, Offset.offset(0.001));
+      assertThat(tracker.getCrossTrackError()).isEqualTo(7.0, Offset.offset(0.001));
+    }
+  }
+}
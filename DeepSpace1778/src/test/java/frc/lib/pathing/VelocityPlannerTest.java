@@ -0,0 +1,127 @@
+package frc.lib.pathing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import frc.lib.kinematics.SwerveKinematics;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class VelocityPlannerTest {
+
+  private static final double MAX_VELOCITY = 48.0;
+  private static final double MAX_ACCELERATION = 85.0;
+  private static final double WHEELBASE = 23.25;
+  private static final double TRACKWIDTH = 17.0;
+  private static final SwerveKinematics KINEMATICS =
+      new SwerveKinematics(
+          new double[] {WHEELBASE / 2, TRACKWIDTH / 2},
+          new double[] {WHEELBASE / 2, -TRACKWIDTH / 2},
+          new double[] {-WHEELBASE / 2, TRACKWIDTH / 2},
+          new double[] {-WHEELBASE / 2, -TRACKWIDTH / 2});
+
+  @Test
+  @DisplayName("A straight path should be planned as a trapezoid at the maximum velocity")
+  public void straightPathShouldMatchTrapezoid() {
+    CompiledPath path =
+        new CompiledPath(
+            new Path(0, MAX_ACCELERATION, MAX_VELOCITY, 0.0, new PathSegment.Line(120, 0)));
+    VelocityPlanner planner = createPlanner(path);
+    MotionProfile profile = new MotionProfile(120.0, MAX_VELOCITY, MAX_ACCELERATION, 0.0, 0.02);
+
+    assertThat(planner.getVelocityAtDistance(0.0)).isEqualTo(0.0, Offset.offset(0.001));
+    assertThat(planner.getVelocityAtDistance(60.0)).isEqualTo(MAX_VELOCITY, Offset.offset(0.001));
+    assertThat(planner.getVelocityAtDistance(120.0)).isEqualTo(0.0, Offset.offset(0.001));
+    assertThat(planner.getDuration()).isEqualTo(profile.getDuration(), Offset.offset(0.05));
+  }
+
+  @Test
+  @DisplayName("No module should need to be normalized while turning along arcs")
+  public void modulesShouldNeverSaturate() {
+    Path path =
+        new Path(
+            -90,
+            MAX_ACCELERATION,
+            MAX_VELOCITY,
+            0.0,
+            new PathSegment.Line(36, 0),
+            new PathSegment.ArcedTranslation(36, 36, 0),
+            new PathSegment.Line(84, 331.23),
+            new PathSegment.RadialArc(36, -90, 240));
+
+    for (Path analyticPath : new Path[] {path, path.getFlipped()}) {
+      CompiledPath compiledPath = new CompiledPath(analyticPath);
+      VelocityPlanner planner = createPlanner(compiledPath);
+
+      double slowestTurningVelocity = MAX_VELOCITY;
+      for (int i = 1; i < compiledPath.getSampleCount() - 1; i++) {
+        double distance = i * compiledPath.getStep();
+        double velocity = planner.getVelocityAtDistance(distance);
+        double relativeDirection =
+            Math.toRadians(
+                compiledPath.getDirectionAtDistance(distance)
+                    - compiledPath.getAngleAtDistance(distance));
+        double rotation =
+            velocity
+                * Math.toRadians(compiledPath.getAngleRateAtDistance(distance))
+                * Math.hypot(WHEELBASE, TRACKWIDTH)
+                / 2.0;
+
+        for (double direction : new double[] {1.0, -1.0}) {
+          assertThat(
+                  getFastestModulePower(
+                      velocity * Math.cos(relativeDirection) / MAX_VELOCITY,
+                      velocity * Math.sin(relativeDirection) / MAX_VELOCITY,
+                      direction * rotation / MAX_VELOCITY))
+              .isLessThanOrEqualTo(1.0 + 0.000001);
+        }
+
+        if (Math.abs(compiledPath.getAngleRateAtDistance(distance)) > 0.1) {
+          slowestTurningVelocity = Math.min(slowestTurningVelocity, velocity);
+        }
+      }
+
+      assertThat(slowestTurningVelocity).isLessThan(MAX_VELOCITY);
+    }
+  }
+
+  @Test
+  @DisplayName("The planned velocity should never change faster than the maximum acceleration")
+  public void velocityShouldBeAccelerationLimited() {
+    CompiledPath path =
+        new CompiledPath(
+            new Path(
+                0,
+                MAX_ACCELERATION,
+                MAX_VELOCITY,
+                0.0,
+                new PathSegment.Line(48, 0.0),
+                new PathSegment.ArcedTranslation(24, 48, 0.0).getFlipped(),
+                new PathSegment.ArcedTranslation(24, 48, 0.0),
+                new PathSegment.Line(96, 90.0)));
+    VelocityPlanner planner = createPlanner(path);
+
+    for (int i = 1; i < path.getSampleCount(); i++) {
+      double previous = planner.getVelocityAtDistance((i - 1) * path.getStep());
+      double current = planner.getVelocityAtDistance(i * path.getStep());
+      assertThat(Math.abs((current * current) - (previous * previous)))
+          .isLessThanOrEqualTo(2 * MAX_ACCELERATION * path.getStep() + 0.001);
+    }
+  }
+
+  private static VelocityPlanner createPlanner(CompiledPath path) {
+    return new VelocityPlanner(path, MAX_VELOCITY, MAX_ACCELERATION, MAX_ACCELERATION, KINEMATICS);
+  }
+
+  /** Mirrors the module power calculation in SwerveDrive, before any normalization. */
+  private static double getFastestModulePower(double forward, double strafe, double rotation) {
+    double diagonal = Math.hypot(WHEELBASE, TRACKWIDTH);
+    double a = strafe + (rotation * (WHEELBASE / diagonal));
+    double b = strafe - (rotation * (WHEELBASE / diagonal));
+    double c = forward + (rotation * (TRACKWIDTH / diagonal));
+    double d = forward - (rotation * (TRACKWIDTH / diagonal));
+
+    return Math.max(
+        Math.max(Math.hypot(a, d), Math.hypot(a, c)), Math.max(Math.hypot(b, d), Math.hypot(b, c)));
+  }
+}
@@ -0,0 +1,66 @@
+package frc.lib.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FixedRateSchedulerTest {
+
+  private static final long PERIOD_NANOS = 20_000_000;
+
+  private long time = 1_000_000_000;
+
+  // Every sleep oversleeps by a quarter of a millisecond, like a real thread waking up late.
+  private FixedRateScheduler scheduler =
+      new FixedRateScheduler(0.02, () -> time, nanos -> time += nanos + 250_000);
+
+  @Test
+  @DisplayName("Ticks should stay on a fixed grid no matter how long the work between them takes")
+  public void ticksShouldNotDrift() throws InterruptedException {
+    long start = time;
+    scheduler.start();
+
+    for (int tick = 1; tick <= 100; tick++) {
+      time += (tick % 7) * 1_000_000;
+      scheduler.waitForNextTick();
+
+      assertThat(time).isEqualTo(start + (tick * PERIOD_NANOS) + 250_000);
+    }
+
+    assertThat(scheduler.getStats().getTickCount()).isEqualTo(100);
+    assertThat(scheduler.getStats().getOverrunCount()).isEqualTo(0);
+    assertThat(scheduler.getStats().getLatenessPercentileMillis(0.99))
+        .isEqualTo(0.25, Offset.offset(0.001));
+  }
+
+  @Test
+  @DisplayName("Deadlines that pass while working should be skipped and counted as overruns")
+  public void overrunsShouldBeSkipped() throws InterruptedException {
+    long start = time;
+    scheduler.start();
+
+    time += 45_000_000;
+    scheduler.waitForNextTick();
+
+    assertThat(time).isEqualTo(start + (3 * PERIOD_NANOS) + 250_000);
+    assertThat(scheduler.getStats().getOverrunCount()).isEqualTo(2);
+
+    scheduler.waitForNextTick();
+    assertThat(time).isEqualTo(start + (4 * PERIOD_NANOS) + 250_000);
+  }
+
+  @Test
+  @DisplayName("Lateness percentiles should come from the recorded ticks")
+  public void percentilesShouldBeRanked() {
+    LoopTimingStats stats = new LoopTimingStats(100);
+    for (int i = 1; i <= 100; i++) {
+      stats.recordTick(i * 10_000L);
+    }
+
+    assertThat(stats.getLatenessPercentileMillis(0.5)).isEqualTo(0.5, Offset.offset(0.0001));
+    assertThat(stats.getLatenessPercentileMillis(0.99)).isEqualTo(0.99, Offset.offset(0.0001));
+    assertThat(stats.getMaxLatenessMillis()).isEqualTo(1.0, Offset.offset(0.0001));
+  }
+}
@@ -0,0 +1,67 @@
+package frc.lib.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HeadingControllerTest {
+
+  @Test
+  @DisplayName("The controller should turn the shorter way around to the target")
+  public void controllerShouldTurnShorterWay() {
+    HeadingController controller = new HeadingController(0.01, 0.0, 0.0, 0.02);
+    controller.setTargetAngle(10.0);
+
+    assertThat(controller.update(350.0)).isEqualTo(0.2, Offset.offset(1e-9));
+    assertThat(controller.update(-710.0)).isEqualTo(0.0, Offset.offset(1e-9));
+    assertThat(controller.update(30.0)).isEqualTo(-0.2, Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("The output should be limited to full rotation either way")
+  public void outputShouldBeLimited() {
+    HeadingController controller = new HeadingController(0.1, 0.0, 0.0, 0.02);
+    controller.setTargetAngle(90.0);
+
+    assertThat(controller.update(0.0)).isEqualTo(1.0);
+    assertThat(controller.update(180.0)).isEqualTo(-1.0);
+  }
+
+  @Test
+  @DisplayName("The derivative should damp a shrinking error, and reset should clear it")
+  public void derivativeShouldDampAndReset() {
+    HeadingController controller = new HeadingController(0.01, 0.0, 0.0025, 0.5);
+    controller.setTargetAngle(0.0);
+
+    assertThat(controller.update(-20.0)).isEqualTo(0.3, Offset.offset(1e-9));
+    assertThat(controller.update(-10.0)).isEqualTo(0.05, Offset.offset(1e-9));
+
+    controller.reset();
+    assertThat(controller.update(-10.0)).isEqualTo(0.15, Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("The integral should stop growing once it alone would saturate the output")
+  public void integralShouldNotWindUp() {
+    HeadingController controller = new HeadingController(0.0, 0.2, 0.0, 0.5);
+    controller.setTargetAngle(0.0);
+
+    assertThat(controller.update(-5.0)).isEqualTo(0.5, Offset.offset(1e-9));
+    assertThat(controller.update(-5.0)).isEqualTo(0.5, Offset.offset(1e-9));
+    assertThat(controller.update(-4.0)).isEqualTo(0.9, Offset.offset(1e-9));
+  }
+
+  @Test
+  @DisplayName("The same gains should give the same damping whatever the update period")
+  public void derivativeShouldBePerSecond() {
+    HeadingController slow = new HeadingController(0.0, 0.0, 0.01, 0.05);
+    HeadingController fast = new HeadingController(0.0, 0.0, 0.01, 0.02);
+
+    // Both errors close at 100 degrees a second.
+    slow.update(-20.0);
+    fast.update(-20.0);
+    assertThat(slow.update(-15.0)).isEqualTo(fast.update(-18.0), Offset.offset(1e-9));
+  }
+}
@@ -0,0 +1,39 @@
+package frc.lib.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MotorFeedforwardTest {
+
+  private MotorFeedforward feedforward = new MotorFeedforward(1.0, 0.1, 0.02);
+
+  @Test
+  @DisplayName("The feedforward should add the static, velocity and acceleration terms")
+  public void testCalculate() {
+    assertThat(feedforward.calculate(50.0, 0.0)).isEqualTo(6.0, Offset.offset(0.001));
+    assertThat(feedforward.calculate(50.0, 100.0)).isEqualTo(8.0, Offset.offset(0.001));
+    assertThat(feedforward.calculate(-50.0, 0.0)).isEqualTo(-6.0, Offset.offset(0.001));
+    assertThat(feedforward.calculate(-50.0, 100.0)).isEqualTo(-4.0, Offset.offset(0.001));
+  }
+
+  @Test
+  @DisplayName("The feedforward should only overcome friction in the direction it is moving")
+  public void testStaticTerm() {
+    assertThat(feedforward.calculate(0.0, 0.0)).isEqualTo(0.0, Offset.offset(0.001));
+    assertThat(feedforward.calculate(0.0, 50.0)).isEqualTo(2.0, Offset.offset(0.001));
+    assertThat(feedforward.calculate(0.0, -50.0)).isEqualTo(-2.0, Offset.offset(0.001));
+  }
+
+  @Test
+  @DisplayName("The max velocity should be the velocity that needs exactly the given voltage")
+  public void testMaxVelocity() {
+    double maxVelocity = feedforward.getMaxVelocity(12.0);
+
+    assertThat(maxVelocity).isEqualTo(110.0, Offset.offset(0.001));
+    assertThat(feedforward.calculate(maxVelocity, 0.0)).isEqualTo(12.0, Offset.offset(0.001));
+    assertThat(feedforward.getMaxVelocity(0.5)).isEqualTo(0.0, Offset.offset(0.001));
+  }
+}
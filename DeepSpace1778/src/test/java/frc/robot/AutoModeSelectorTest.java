@@ -83,4 +83,40 @@ public class AutoModeSelectorTest {
             false);
     assertThat(mode.get().getClass()).isEqualTo(NearSideRocketAndCargoBay.class);
   }
+
+  @Test
+  @DisplayName("Every combination of the choosers should be in the table once")
+  public void testEverySelectionIsListed() {
+    int combinations =
+        WantedMode.values().length
+            * StartingPosition.values().length
+            * WantedFirstTarget.values().length
+            * WantedSecondTarget.values().length;
+    assertThat(AutoModeSelector.getSelections()).hasSize(combinations).doesNotHaveDuplicates();
+
+    for (AutoModeSelector.Selection selection : AutoModeSelector.getSelections()) {
+      assertThat(
+              AutoModeSelector.getSelection(
+                  selection.getWantedMode(),
+                  selection.getPosition(),
+                  selection.getFirstTarget(),
+                  selection.getSecondTarget()))
+          .isSameAs(selection);
+    }
+  }
+
+  @Test
+  @DisplayName("Valid selections should create their mode, and invalid ones should say why not")
+  public void testSelectionsCreateTheirMode() {
+    for (AutoModeSelector.Selection selection : AutoModeSelector.getSelections()) {
+      Optional<AutoModeBase> mode = selection.createMode();
+      if (selection.isValid()) {
+        assertThat(mode.get().getClass()).isEqualTo(selection.getModeType());
+        assertThat(selection.createMode().get()).isNotSameAs(mode.get());
+      } else {
+        assertThat(mode).isEmpty();
+        assertThat(selection.getFeedback()).startsWith("Invalid config");
+      }
+    }
+  }
 }
@@ -0,0 +1,104 @@
+package frc.robot.auto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import frc.lib.util.Clock;
+import frc.lib.util.VirtualClock;
+import frc.robot.auto.actions.Action;
+import frc.robot.auto.actions.ParallelAction;
+import frc.robot.auto.actions.SeriesAction;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ActionProfilerTest {
+
+  private VirtualClock clock = new VirtualClock();
+  private ActionProfiler profiler = ActionProfiler.getInstance();
+
+  /** An action that takes a number of milliseconds to update, and finishes after some updates. */
+  private class SlowAction implements Action {
+    private final int updatesNeeded;
+    private final long updateMillis;
+    private int updates;
+
+    SlowAction(int updatesNeeded, long updateMillis) {
+      this.updatesNeeded = updatesNeeded;
+      this.updateMillis = updateMillis;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return updates >= updatesNeeded;
+    }
+
+    @Override
+    public void update() {
+      updates++;
+      clock.advance(updateMillis * 1000000L);
+    }
+
+    @Override
+    public void done() {}
+
+    @Override
+    public void start() {}
+  }
+
+  @BeforeEach
+  public void useVirtualClock() {
+    Clock.set(clock);
+    profiler.clear();
+  }
+
+  @AfterEach
+  public void useSystemClock() {
+    Clock.set(Clock.SYSTEM);
+  }
+
+  @Test
+  @DisplayName("Actions run at the same time should be profiled on lanes of their own")
+  public void parallelActionsShouldGetTheirOwnLanes() {
+    AutoModeBase mode =
+        new AutoModeBase() {
+          @Override
+          public List<Action> routine() {
+            return List.of(
+                new ParallelAction(
+                    List.of(
+                        new SeriesAction(List.of(new SlowAction(2, 1), new SlowAction(1, 2))),
+                        new SlowAction(4, 3))));
+          }
+        };
+    mode.run();
+
+    String trace = profiler.toChromeTrace();
+    assertThat(profiler.getRecordCount()).isEqualTo(5);
+    assertThat(trace)
+        .startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[{\"name\":\"ParallelAction\"");
+    assertThat(trace)
+        .contains(
+            "\"name\":\"SeriesAction\",\"cat\":\"action\",\"ph\":\"X\",\"pid\":1,\"tid\":0",
+            "\"name\":\"SlowAction\",\"cat\":\"action\",\"ph\":\"X\",\"pid\":1,\"tid\":1",
+            "\"ticks\":4,\"maxUpdateMs\":3.000}",
+            "\"ticks\":2,\"maxUpdateMs\":1.000}");
+  }
+
+  @Test
+  @DisplayName("Only the latest records should be kept once the profiler is full")
+  public void oldRecordsShouldBeOverwritten() {
+    ActionProfiler small = new ActionProfiler(2);
+    long first = small.begin(new SlowAction(0, 0));
+    small.end(first);
+    long second = small.begin(new SlowAction(0, 0));
+    clock.advance(5000000L);
+    small.end(second);
+    small.begin(new ParallelAction(List.of()));
+
+    String trace = small.toChromeTrace();
+    assertThat(small.getRecordCount()).isEqualTo(2);
+    assertThat(trace).contains("\"dur\":5000.000", "\"name\":\"ParallelAction\"", "\"running\"");
+  }
+}
@@ -0,0 +1,72 @@
+package frc.robot.auto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import frc.robot.AutoModeSelector;
+import frc.robot.AutoModeSelector.StartingPosition;
+import frc.robot.AutoModeSelector.WantedFirstTarget;
+import frc.robot.AutoModeSelector.WantedMode;
+import frc.robot.AutoModeSelector.WantedSecondTarget;
+import java.util.Optional;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+public class AutoModeSimulatorTest {
+
+  private AutoModeSelector autoModeSelector = new AutoModeSelector(false);
+  private AutoModeSimulator simulator = new AutoModeSimulator();
+
+  private Optional<AutoModeBase> getMode(
+      StartingPosition position, WantedFirstTarget firstTarget, WantedSecondTarget secondTarget) {
+    return autoModeSelector.getModeForParams(
+        WantedMode.RUN_SELECTED_AUTO, position, firstTarget, secondTarget, false);
+  }
+
+  @Test
+  @DisplayName("Every selectable auto mode should finish its paths, reporting any that run long")
+  public void everyModeShouldFinishItsPaths(TestReporter reporter) {
+    for (AutoModeSelector.Selection selection : AutoModeSelector.getSelections()) {
+      if (selection.getWantedMode() != WantedMode.RUN_SELECTED_AUTO || !selection.isValid()) {
+        continue;
+      }
+
+      AutoModeSimulator.Result result = simulator.simulate(selection.createMode().get());
+
+      assertThat(result.isFinished()).as(selection.getFeedback()).isTrue();
+      assertThat(result.getPositionError()).as(selection.getFeedback()).isLessThan(18.0);
+      if (!result.fitsInSandstorm()) {
+        reporter.publishEntry(
+            selection.getModeType().getSimpleName() + " from " + selection.getPosition(),
+            result.toString());
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A mode run from the right should mirror the same mode run from the left")
+  public void rightModesShouldMirrorLeftModes() {
+    AutoModeSimulator.Result left =
+        simulator.simulate(
+            getMode(
+                    StartingPosition.LEFT,
+                    WantedFirstTarget.NEAR_SIDE_ROCKET,
+                    WantedSecondTarget.NEAR_SIDE_ROCKET)
+                .get());
+    AutoModeSimulator.Result right =
+        simulator.simulate(
+            getMode(
+                    StartingPosition.RIGHT,
+                    WantedFirstTarget.NEAR_SIDE_ROCKET,
+                    WantedSecondTarget.NEAR_SIDE_ROCKET)
+                .get());
+
+    assertThat(right.getPose().getForward())
+        .isCloseTo(left.getPose().getForward(), Offset.offset(0.01));
+    assertThat(right.getPose().getStrafe())
+        .isCloseTo(-left.getPose().getStrafe(), Offset.offset(0.01));
+    assertThat(right.getElapsedSeconds())
+        .isCloseTo(left.getElapsedSeconds(), Offset.offset(0.001));
+  }
+}
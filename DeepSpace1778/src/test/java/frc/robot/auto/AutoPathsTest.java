@@ -0,0 +1,62 @@
+package frc.robot.auto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import frc.lib.pathing.Path;
+import frc.lib.pathing.PathSegment;
+import frc.robot.AutoModeSelector.StartingPosition;
+import frc.robot.auto.AutoPaths.Route;
+import frc.robot.auto.AutoPaths.Side;
+import frc.robot.auto.modes.DualNearSideRocketMode;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AutoPathsTest {
+
+  @Test
+  @DisplayName("A path should only be built once for each route and side")
+  public void pathsShouldBeMemoized() {
+    Path rightPath = AutoPaths.get(Route.START_TO_ROCKET_NEAR_SIDE, Side.RIGHT);
+    Path leftPath = AutoPaths.get(Route.START_TO_ROCKET_NEAR_SIDE, Side.LEFT);
+
+    assertThat(AutoPaths.get(Route.START_TO_ROCKET_NEAR_SIDE, Side.RIGHT)).isSameAs(rightPath);
+    assertThat(AutoPaths.get(Route.START_TO_ROCKET_NEAR_SIDE, Side.LEFT)).isSameAs(leftPath);
+    assertThat(leftPath).isSameAs(rightPath.getFlipped());
+    assertThat(AutoPaths.getName(rightPath)).isEqualTo("START_TO_ROCKET_NEAR_SIDE");
+  }
+
+  @Test
+  @DisplayName("The left side path should be the right side path flipped")
+  public void leftPathShouldMirrorRightPath() {
+    Path rightPath = AutoPaths.get(Route.FEEDER_STATION_TO_ROCKET_FAR_SIDE, Side.RIGHT);
+    Path leftPath = AutoPaths.get(Route.FEEDER_STATION_TO_ROCKET_FAR_SIDE, Side.LEFT);
+
+    assertThat(leftPath.getLength()).isEqualTo(rightPath.getLength(), Offset.offset(0.001));
+    for (double distance = 0.0; distance <= rightPath.getLength(); distance += 12.0) {
+      assertThat(leftPath.getDirectionAtDistance(distance))
+          .isEqualTo(-rightPath.getDirectionAtDistance(distance), Offset.offset(0.001));
+    }
+  }
+
+  @Test
+  @DisplayName("A path that did not come from AutoPaths should not have a name")
+  public void unknownPathShouldNotHaveName() {
+    Path path = new Path(0, 0.0, new PathSegment.Line(12, 0));
+    assertThat(AutoPaths.getName(path)).isNull();
+  }
+
+  @Test
+  @DisplayName("A mode's paths should be collected from its routine, including inside groups")
+  public void modePathsShouldComeFromRoutine() {
+    AutoModeBase mode = new DualNearSideRocketMode(StartingPosition.LEFT);
+    assertThat(mode.getPaths()).isEmpty();
+
+    mode.prebuild();
+    assertThat(mode.getPaths())
+        .containsExactly(
+            AutoPaths.get(Route.START_TO_ROCKET_NEAR_SIDE, Side.LEFT),
+            AutoPaths.get(Route.ROCKET_NEAR_SIDE_TO_FEEDER_STATION, Side.LEFT),
+            AutoPaths.get(Route.FEEDER_STATION_TO_ROCKET_NEAR_SIDE, Side.LEFT));
+  }
+}
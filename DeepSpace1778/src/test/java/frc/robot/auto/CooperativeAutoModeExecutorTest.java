@@ -0,0 +1,119 @@
+package frc.robot.auto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import frc.robot.auto.actions.Action;
+import frc.robot.auto.actions.CountingAction;
+import frc.robot.auto.actions.RunOnceAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CooperativeAutoModeExecutorTest {
+
+  private List<String> events = new ArrayList<>();
+
+  private AutoModeBase mode =
+      new AutoModeBase() {
+        @Override
+        public List<Action> routine() {
+          return List.of(
+              new CountingAction(events, "first", 2),
+              new RunOnceAction() {
+                @Override
+                public void runOnce() {
+                  events.add("once");
+                }
+              },
+              new CountingAction(events, "second", 1));
+        }
+
+        /** Keeps the tests from writing to the robot's trace directory. */
+        @Override
+        public void writeProfile() {}
+      };
+
+  @Test
+  @DisplayName("Prebuilt actions should be handed out once without running any of them")
+  public void prebuiltActionsShouldBeTakenOnce() {
+    mode.prebuild();
+    List<Action> prebuilt = mode.takeActions();
+
+    assertThat(prebuilt).hasSize(3);
+    assertThat(mode.takeActions()).hasSize(3).isNotSameAs(prebuilt);
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Each update should run the current action once, in the same order as a thread")
+  public void actionsShouldBeSteppedInOrder() {
+    CooperativeAutoModeExecutor executor = new CooperativeAutoModeExecutor();
+    executor.setAutoMode(mode);
+    executor.start();
+
+    executor.update();
+    assertThat(events).containsExactly("first start", "first update");
+
+    executor.update();
+    executor.update();
+    assertThat(events)
+        .containsExactly(
+            "first start",
+            "first update",
+            "first update",
+            "first done",
+            "once",
+            "second start",
+            "second update");
+    assertThat(executor.isRunning()).isTrue();
+
+    executor.update();
+    assertThat(events.get(events.size() - 1)).isEqualTo("second done");
+    assertThat(executor.isRunning()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Stopping should finish the current action and run nothing more")
+  public void stopShouldEndCurrentAction() {
+    CooperativeAutoModeExecutor executor = new CooperativeAutoModeExecutor();
+    executor.setAutoMode(mode);
+    executor.start();
+    executor.update();
+    executor.stop();
+    executor.update();
+
+    assertThat(events).containsExactly("first start", "first update", "first done");
+  }
+
+  @Test
+  @DisplayName("Stopping should write the profile on a thread other than the robot loop's")
+  public void stopShouldWriteProfileInBackground() throws InterruptedException {
+    CountDownLatch written = new CountDownLatch(1);
+    List<String> writers = new ArrayList<>();
+    AutoModeBase profiledMode =
+        new AutoModeBase() {
+          @Override
+          public List<Action> routine() {
+            return List.of(new CountingAction(events, "first", 2));
+          }
+
+          @Override
+          public void writeProfile() {
+            writers.add(Thread.currentThread().getName());
+            written.countDown();
+          }
+        };
+
+    CooperativeAutoModeExecutor executor = new CooperativeAutoModeExecutor();
+    executor.setAutoMode(profiledMode);
+    executor.start();
+    executor.update();
+    executor.stop();
+
+    assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(writers).containsExactly("AutoProfileWriter");
+  }
+}
@@ -0,0 +1,112 @@
+package frc.robot.auto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import frc.robot.auto.actions.Action;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ThreadedAutoModeExecutorTest {
+
+  private ThreadedAutoModeExecutor executor = new ThreadedAutoModeExecutor();
+
+  /** An auto mode with one action that never finishes on its own. */
+  private static class BlockingMode extends AutoModeBase {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    volatile Thread thread;
+
+    @Override
+    public List<Action> routine() {
+      return List.of(
+          new Action() {
+            @Override
+            public boolean isFinished() {
+              return false;
+            }
+
+            @Override
+            public void update() {}
+
+            @Override
+            public void done() {
+              done.countDown();
+            }
+
+            @Override
+            public void start() {
+              thread = Thread.currentThread();
+              started.countDown();
+            }
+          });
+    }
+
+    /** Keeps the tests from writing to the robot's trace directory. */
+    @Override
+    public void writeProfile() {}
+  }
+
+  @AfterEach
+  public void closeExecutor() {
+    executor.close();
+  }
+
+  @Test
+  @DisplayName("Stopping should end the running action and free the worker for the next mode")
+  public void stopShouldEndModeAndReuseWorker() throws InterruptedException {
+    BlockingMode first = new BlockingMode();
+    executor.setAutoMode(first);
+    executor.start();
+
+    assertThat(first.started.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.thread.getName()).isEqualTo("AutoModeExecutor");
+
+    executor.stop();
+    assertThat(first.done.await(1, TimeUnit.SECONDS)).isTrue();
+
+    BlockingMode second = new BlockingMode();
+    executor.setAutoMode(second);
+    executor.start();
+
+    assertThat(second.started.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.thread).isSameAs(first.thread);
+    executor.stop();
+  }
+
+  @Test
+  @DisplayName("A mode stopped before it starts should never run")
+  public void stoppedModeShouldNotRun() throws InterruptedException {
+    BlockingMode stopped = new BlockingMode();
+    BlockingMode blocker = new BlockingMode();
+
+    // Keep the worker busy so the next mode is still waiting to be picked up when it is stopped.
+    executor.setAutoMode(blocker);
+    executor.start();
+    assertThat(blocker.started.await(1, TimeUnit.SECONDS)).isTrue();
+
+    executor.setAutoMode(stopped);
+    executor.start();
+    executor.stop();
+
+    assertThat(blocker.done.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(stopped.started.await(100, TimeUnit.MILLISECONDS)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Closing should stop the running mode and end the worker")
+  public void closeShouldEndWorker() throws InterruptedException {
+    BlockingMode mode = new BlockingMode();
+    executor.setAutoMode(mode);
+    executor.start();
+    assertThat(mode.started.await(1, TimeUnit.SECONDS)).isTrue();
+
+    executor.close();
+
+    assertThat(mode.done.getCount()).isEqualTo(0);
+    assertThat(mode.thread.isAlive()).isFalse();
+  }
+}
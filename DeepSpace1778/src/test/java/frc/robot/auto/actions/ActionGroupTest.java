@@ -0,0 +1,117 @@
+package frc.robot.auto.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ActionGroupTest {
+
+  private List<String> events = new ArrayList<>();
+
+  /** Runs an action the same way {@link frc.robot.auto.AutoModeBase#runAction} does. */
+  private void run(Action action) {
+    action.start();
+    while (!action.isFinished()) {
+      action.update();
+    }
+    action.done();
+  }
+
+  @Test
+  @DisplayName("A parallel group should stop updating children once they finish")
+  public void parallelShouldSkipFinishedChildren() {
+    run(
+        new ParallelAction(
+            List.of(
+                new CountingAction(events, "short", 1), new CountingAction(events, "long", 3))));
+
+    assertThat(events)
+        .containsExactly(
+            "short start",
+            "long start",
+            "short update",
+            "short done",
+            "long update",
+            "long update",
+            "long update",
+            "long done");
+  }
+
+  @Test
+  @DisplayName("A race should end every child when the first one finishes")
+  public void raceShouldEndWithFirstChild() {
+    RaceAction race =
+        new RaceAction(
+            List.of(
+                new CountingAction(events, "long", 3), new CountingAction(events, "short", 2)));
+    run(race);
+
+    assertThat(events)
+        .containsExactly(
+            "long start",
+            "short start",
+            "long update",
+            "short update",
+            "long update",
+            "short update",
+            "short done",
+            "long done");
+  }
+
+  @Test
+  @DisplayName("A deadline group should finish with its deadline action")
+  public void deadlineShouldEndWithDeadlineAction() {
+    run(
+        new DeadlineAction(
+            new CountingAction(events, "deadline", 2),
+            List.of(
+                new CountingAction(events, "short", 1), new CountingAction(events, "long", 5))));
+
+    assertThat(events)
+        .containsExactly(
+            "deadline start",
+            "short start",
+            "long start",
+            "deadline update",
+            "short update",
+            "short done",
+            "long update",
+            "deadline update",
+            "deadline done",
+            "long done");
+  }
+
+  @Test
+  @DisplayName("A series should run its actions one after another and end the current one early")
+  public void seriesShouldRunInOrder() {
+    run(
+        new RaceAction(
+            List.of(
+                new SeriesAction(
+                    List.of(
+                        new CountingAction(events, "first", 1),
+                        new CountingAction(events, "instant", 0),
+                        new CountingAction(events, "second", 5))),
+                new CountingAction(events, "timeout", 3))));
+
+    assertThat(events)
+        .containsExactly(
+            "first start",
+            "timeout start",
+            "first update",
+            "first done",
+            "instant start",
+            "instant done",
+            "second start",
+            "timeout update",
+            "second update",
+            "timeout update",
+            "second update",
+            "timeout update",
+            "timeout done",
+            "second done");
+  }
+}
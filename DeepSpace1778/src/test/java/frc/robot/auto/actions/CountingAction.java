@@ -0,0 +1,44 @@
+package frc.robot.auto.actions;
+
+import java.util.List;
+
+/**
+ * An action for tests that finishes after it has been updated a number of times, and adds an event
+ * to a list each time it is started, updated or done.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class CountingAction implements Action {
+
+  private final List<String> events;
+  private final String name;
+  private final int updatesNeeded;
+  private int updates;
+
+  public CountingAction(List<String> events, String name, int updatesNeeded) {
+    this.events = events;
+    this.name = name;
+    this.updatesNeeded = updatesNeeded;
+  }
+
+  @Override
+  public boolean isFinished() {
+    return updates >= updatesNeeded;
+  }
+
+  @Override
+  public void update() {
+    updates++;
+    events.add(name + " update");
+  }
+
+  @Override
+  public void done() {
+    events.add(name + " done");
+  }
+
+  @Override
+  public void start() {
+    events.add(name + " start");
+  }
+}
@@ -2,7 +2,10 @@ package frc.robot.components;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.sun.management.ThreadMXBean;
 import frc.lib.util.ModuleSignal;
+import frc.robot.Constants;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Tag;
@@ -132,4 +135,54 @@ public class SwerveDriveTest {
           .isEqualTo(wantedSignals.get(i).getAngle(), Offset.offset(0.001));
     }
   }
+
+  @Test
+  public void calculateModuleSignalsIntoArrayShouldMatchList() {
+    ModuleSignal[] signals = SwerveDrive.createModuleSignals();
+
+    for (double rotation = -1.0; rotation <= 1.0; rotation += 0.25) {
+      ArrayList<ModuleSignal> wantedSignals = swerve.calculateModuleSignals(0.3, -0.7, rotation);
+      swerve.calculateModuleSignals(0.3, -0.7, rotation, signals);
+
+      for (int i = 0; i < 4; i++) {
+        assertThat(signals[i].getDrivePower()).isEqualTo(wantedSignals.get(i).getDrivePower());
+        assertThat(signals[i].getAngle()).isEqualTo(wantedSignals.get(i).getAngle());
+      }
+    }
+  }
+
+  @Test
+  public void calculateModuleSignalsIntoArrayShouldNotAllocate() {
+    ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    ModuleSignal[] signals = SwerveDrive.createModuleSignals();
+    int calls = 100_000;
+    for (int i = 0; i < calls; i++) {
+      swerve.calculateModuleSignals(Math.cos(i), Math.sin(i), 0.5, signals);
+    }
+
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < calls; i++) {
+      swerve.calculateModuleSignals(Math.cos(i), Math.sin(i), 0.5, signals);
+    }
+    long allocatedAfter = threadBean.getThreadAllocatedBytes(threadId);
+
+    // Reading the allocated bytes allocates a little itself, but far less than a byte per call.
+    assertThat((allocatedAfter - allocatedBefore) / calls).isEqualTo(0);
+  }
+
+  @Test
+  public void driveVelocityShouldScaleWithPower() {
+    double maxVelocity =
+        (Constants.NOMINAL_VOLTAGE - Constants.SWERVE_DRIVE_KS) / Constants.SWERVE_DRIVE_KV;
+    assertThat(SwerveDrive.getMaxDriveVelocity()).isEqualTo(maxVelocity, Offset.offset(1e-9));
+
+    assertThat(SwerveDrive.getDriveVelocity(1.0)).isEqualTo(maxVelocity, Offset.offset(1e-9));
+    assertThat(SwerveDrive.getDriveVelocity(0.5))
+        .isEqualTo(maxVelocity / 2.0, Offset.offset(1e-9));
+    assertThat(SwerveDrive.getDriveVelocity(-1.0)).isEqualTo(-maxVelocity, Offset.offset(1e-9));
+    assertThat(SwerveDrive.getDriveVelocity(0.0)).isEqualTo(0.0);
+  }
 }
@@ -0,0 +1,125 @@
+package frc.lib.characterization;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A fixed size buffer of drive characterization samples, each holding the time, voltage, position
+ * and velocity as floats. The buffer is allocated up front so that adding a sample never allocates
+ * or touches the file system while the robot is moving; the whole run is written out once it is
+ * over.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class CharacterizationLog {
+  private static final int MAGIC_NUMBER = 0x31373739;
+  private static final int VERSION = 1;
+  private static final int SAMPLE_BYTES = 4 * Float.BYTES;
+
+  private final ByteBuffer samples;
+  private double startTime;
+
+  public CharacterizationLog(int capacity) {
+    samples = ByteBuffer.allocate(capacity * SAMPLE_BYTES);
+  }
+
+  /**
+   * Adds a sample, with its time in seconds measured from the first sample. Returns false without
+   * adding it if the log is already full.
+   */
+  public boolean add(double timestamp, double voltage, double position, double velocity) {
+    if (samples.remaining() < SAMPLE_BYTES) {
+      return false;
+    }
+
+    if (samples.position() == 0) {
+      startTime = timestamp;
+    }
+
+    samples
+        .putFloat((float) (timestamp - startTime))
+        .putFloat((float) voltage)
+        .putFloat((float) position)
+        .putFloat((float) velocity);
+    return true;
+  }
+
+  public void clear() {
+    samples.clear();
+  }
+
+  public boolean isFull() {
+    return samples.remaining() < SAMPLE_BYTES;
+  }
+
+  public int getSize() {
+    return samples.position() / SAMPLE_BYTES;
+  }
+
+  public double getTime(int sample) {
+    return samples.getFloat(sample * SAMPLE_BYTES);
+  }
+
+  public double getVoltage(int sample) {
+    return samples.getFloat((sample * SAMPLE_BYTES) + Float.BYTES);
+  }
+
+  public double getPosition(int sample) {
+    return samples.getFloat((sample * SAMPLE_BYTES) + (2 * Float.BYTES));
+  }
+
+  public double getVelocity(int sample) {
+    return samples.getFloat((sample * SAMPLE_BYTES) + (3 * Float.BYTES));
+  }
+
+  public void write(File file) throws IOException {
+    File directory = file.getAbsoluteFile().getParentFile();
+    if (directory != null) {
+      directory.mkdirs();
+    }
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES);
+      header.putInt(MAGIC_NUMBER).putInt(VERSION).putInt(getSize()).flip();
+
+      ByteBuffer body = samples.duplicate();
+      body.flip();
+
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      while (body.hasRemaining()) {
+        channel.write(body);
+      }
+    }
+  }
+
+  public static CharacterizationLog read(File file) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+    if (buffer.remaining() < 3 * Integer.BYTES
+        || buffer.getInt() != MAGIC_NUMBER
+        || buffer.getInt() != VERSION) {
+      throw new IOException(file + " is not a characterization log of version " + VERSION);
+    }
+
+    int sampleCount = buffer.getInt();
+    if (buffer.remaining() < sampleCount * SAMPLE_BYTES) {
+      throw new IOException(file + " ends before all " + sampleCount + " samples");
+    }
+
+    CharacterizationLog log = new CharacterizationLog(sampleCount);
+    buffer.limit(buffer.position() + (sampleCount * SAMPLE_BYTES));
+    log.samples.put(buffer);
+    return log;
+  }
+}
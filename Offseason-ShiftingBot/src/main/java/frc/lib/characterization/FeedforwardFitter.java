@@ -0,0 +1,176 @@
+package frc.lib.characterization;
+
+import frc.lib.util.MotorFeedforward;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fits the static, velocity and acceleration terms of a {@link MotorFeedforward} to drive
+ * characterization logs by least squares. The slow quasi-static ramps pin down the static and
+ * velocity terms, and the step voltage runs add enough acceleration to find the last one, so the
+ * logs from both should be fitted together.
+ *
+ * <p>This runs on a computer rather than the robot. Copy the logs off of the robot and run the
+ * fitCharacterization Gradle task, or run this class with the log files or the directories holding
+ * them as arguments.
+ *
+ * @author FRC 1778 Chill Out
+ */
+public class FeedforwardFitter {
+  // Friction is not well defined while standing still, so slower samples are left out.
+  public static final double DEFAULT_MIN_VELOCITY = 1.0;
+
+  private final double minVelocity;
+
+  // The sums that make up the normal equations, for the columns sign of velocity, velocity and
+  // acceleration.
+  private final double[][] products = new double[3][3];
+  private final double[] voltageProducts = new double[3];
+  private double voltageSquares;
+  private double voltageSum;
+  private int sampleCount;
+
+  public FeedforwardFitter() {
+    this(DEFAULT_MIN_VELOCITY);
+  }
+
+  public FeedforwardFitter(double minVelocity) {
+    this.minVelocity = minVelocity;
+  }
+
+  /**
+   * Adds every sample of a log to the fit. The acceleration of each sample is found from the
+   * velocities of the samples on either side of it.
+   */
+  public void add(CharacterizationLog log) {
+    for (int i = 1; i < log.getSize() - 1; i++) {
+      double velocity = log.getVelocity(i);
+      double interval = log.getTime(i + 1) - log.getTime(i - 1);
+      if (Math.abs(velocity) < minVelocity || interval <= 0.0) {
+        continue;
+      }
+
+      double acceleration = (log.getVelocity(i + 1) - log.getVelocity(i - 1)) / interval;
+      add(log.getVoltage(i), velocity, acceleration);
+    }
+  }
+
+  public void add(double voltage, double velocity, double acceleration) {
+    double[] row = {Math.signum(velocity), velocity, acceleration};
+    for (int j = 0; j < 3; j++) {
+      for (int k = 0; k < 3; k++) {
+        products[j][k] += row[j] * row[k];
+      }
+      voltageProducts[j] += row[j] * voltage;
+    }
+
+    voltageSquares += voltage * voltage;
+    voltageSum += voltage;
+    sampleCount++;
+  }
+
+  public int getSampleCount() {
+    return sampleCount;
+  }
+
+  /** Solves for the feedforward that best fits every sample added so far. */
+  public MotorFeedforward fit() {
+    double[] gains = solve(products, voltageProducts);
+    return new MotorFeedforward(gains[0], gains[1], gains[2]);
+  }
+
+  /** Returns the fraction of the variation in the voltage explained by the fitted feedforward. */
+  public double getRSquared(MotorFeedforward feedforward) {
+    double[] gains = {
+      feedforward.getStaticGain(), feedforward.getVelocityGain(), feedforward.getAccelerationGain()
+    };
+
+    // The residual sum of squares expands into the sums kept for the normal equations.
+    double residualSquares = voltageSquares;
+    for (int j = 0; j < 3; j++) {
+      residualSquares -= 2 * gains[j] * voltageProducts[j];
+      for (int k = 0; k < 3; k++) {
+        residualSquares += gains[j] * gains[k] * products[j][k];
+      }
+    }
+
+    double totalSquares = voltageSquares - (voltageSum * voltageSum / sampleCount);
+    return totalSquares > 0.0 ? 1.0 - (residualSquares / totalSquares) : 0.0;
+  }
+
+  /** Solves a 3 by 3 system of equations by Gaussian elimination with partial pivoting. */
+  private static double[] solve(double[][] matrix, double[] values) {
+    double[][] rows = new double[3][4];
+    for (int j = 0; j < 3; j++) {
+      System.arraycopy(matrix[j], 0, rows[j], 0, 3);
+      rows[j][3] = values[j];
+    }
+
+    for (int column = 0; column < 3; column++) {
+      int pivot = column;
+      for (int j = column + 1; j < 3; j++) {
+        if (Math.abs(rows[j][column]) > Math.abs(rows[pivot][column])) {
+          pivot = j;
+        }
+      }
+      if (Math.abs(rows[pivot][column]) < 1e-9) {
+        throw new IllegalStateException(
+            "Not enough samples to fit a feedforward; log both quasi-static and step voltage runs");
+      }
+
+      double[] swap = rows[column];
+      rows[column] = rows[pivot];
+      rows[pivot] = swap;
+
+      for (int j = column + 1; j < 3; j++) {
+        double factor = rows[j][column] / rows[column][column];
+        for (int k = column; k < 4; k++) {
+          rows[j][k] -= factor * rows[column][k];
+        }
+      }
+    }
+
+    double[] solution = new double[3];
+    for (int j = 2; j >= 0; j--) {
+      double value = rows[j][3];
+      for (int k = j + 1; k < 3; k++) {
+        value -= rows[j][k] * solution[k];
+      }
+      solution[j] = value / rows[j][j];
+    }
+
+    return solution;
+  }
+
+  public static void main(String[] args) throws IOException {
+    List<File> files = new ArrayList<>();
+    for (String arg : args) {
+      File file = new File(arg);
+      File[] children = file.listFiles((directory, name) -> name.endsWith(".bin"));
+      if (children != null) {
+        files.addAll(List.of(children));
+      } else {
+        files.add(file);
+      }
+    }
+
+    FeedforwardFitter fitter = new FeedforwardFitter();
+    for (File file : files) {
+      CharacterizationLog log = CharacterizationLog.read(file);
+      fitter.add(log);
+      System.out.println(String.format("Read %d samples from %s", log.getSize(), file));
+    }
+
+    MotorFeedforward feedforward = fitter.fit();
+    System.out.println(
+        String.format(
+            "kS = %.4f, kV = %.5f, kA = %.5f, r^2 = %.4f from %d samples",
+            feedforward.getStaticGain(),
+            feedforward.getVelocityGain(),
+            feedforward.getAccelerationGain(),
+            fitter.getRSquared(feedforward),
+            fitter.getSampleCount()));
+  }
+}
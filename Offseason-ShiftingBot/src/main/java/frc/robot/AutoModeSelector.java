@@ -15,7 +15,8 @@ public class AutoModeSelector {
 
   enum WantedMode {
     DO_NOTHING,
-    TEST_MODE
+    TEST_MODE,
+    CHARACTERIZE_DRIVE
   }
 
   private WantedMode cachedWantedMode = null;
@@ -29,6 +30,7 @@ public class AutoModeSelector {
   public AutoModeSelector() {
     modeChooser = new SendableChooser<>();
     modeChooser.addOption("Test", WantedMode.TEST_MODE);
+    modeChooser.addOption("Characterize Drive", WantedMode.CHARACTERIZE_DRIVE);
     modeChooser.setDefaultOption("Do Nothing", WantedMode.DO_NOTHING);
     Constants.autoTab
         .add("Auto mode", modeChooser)
@@ -64,6 +66,8 @@ public class AutoModeSelector {
         return Optional.of(new TestAutoModeCreator());
       case DO_NOTHING:
         return Optional.of(new DoNothingAutoModeCreator());
+      case CHARACTERIZE_DRIVE:
+        return Optional.of(new DriveCharacterizationAutoModeCreator());
       default:
         break;
     }
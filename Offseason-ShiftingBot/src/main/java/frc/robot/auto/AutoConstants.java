@@ -13,4 +13,19 @@ public class AutoConstants {
 
   public static final double kWristAngleEpsilon = 3.0;
   public static final double kElevatorHeightEpsilon = 4.0;
+
+  // Drive characterization samples at 200 Hz, and each log holds up to 20 seconds of samples.
+  public static final double kCharacterizationPeriod = 1.0 / 200.0;
+  public static final int kCharacterizationLogCapacity = 4000;
+
+  // Volts per second for the quasi-static ramps, and volts for the steps. The ramps end at 7 volts,
+  // so the velocity gain is fitted across most of the drive's speed range, not just above kS.
+  public static final double kCharacterizationRampRate = 0.7;
+  public static final double kCharacterizationRampDuration = 10.0;
+  public static final double kCharacterizationStepVoltage = 6.0;
+  public static final double kCharacterizationStepDuration = 2.0;
+
+  // A characterization run stops early once the robot has driven this many inches, since the ramps
+  // would otherwise take it well over 20 feet.
+  public static final double kCharacterizationMaxDistance = 144.0;
 }
@@ -0,0 +1,154 @@
+package frc.robot.auto.actions;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
+import frc.lib.characterization.CharacterizationLog;
+import frc.lib.util.DebugLog;
+import frc.robot.auto.AutoConstants;
+import frc.robot.components.Drive;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives both sides of the drivetrain at a voltage that either ramps up slowly from zero or steps
+ * straight to a fixed value, and logs the voltage, average distance and average velocity of the
+ * two sides on a notifier much faster than the auto loop. The run ends early if the robot drives
+ * further than it has room for. The log is written to the robot on a low priority thread once
+ * the run is over, to be fitted with {@link frc.lib.characterization.FeedforwardFitter}.
+ *
+ * @see Action
+ */
+public class CharacterizeDriveAction implements Action {
+  private static final File LOG_DIRECTORY = new File("/home/lvuser/characterization");
+
+  private static final ExecutorService LOG_WRITER =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "CharacterizationLogWriter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  private Drive drive = Drive.getinstance();
+
+  private final String name;
+  private final double rampRate;
+  private final double stepVoltage;
+  private final double duration;
+
+  private final CharacterizationLog log =
+      new CharacterizationLog(AutoConstants.kCharacterizationLogCapacity);
+  // Created when the action starts, since a notifier holds a thread until it is closed.
+  private Notifier notifier;
+
+  private volatile double startTime;
+  private volatile double distanceDriven;
+  private double startPosition = Double.NaN;
+  private double appliedVoltage;
+
+  private CharacterizeDriveAction(
+      String name, double rampRate, double stepVoltage, double duration) {
+    this.name = name;
+    this.rampRate = rampRate;
+    this.stepVoltage = stepVoltage;
+    this.duration = duration;
+  }
+
+  /**
+   * Creates an action that ramps the voltage up from zero.
+   *
+   * @param name the name of the log file, without its extension
+   * @param rampRate volts per second to ramp the voltage by, negative to drive backwards
+   * @param duration seconds to ramp the voltage for
+   * @return the action
+   */
+  public static CharacterizeDriveAction quasiStatic(String name, double rampRate, double duration) {
+    return new CharacterizeDriveAction(name, rampRate, 0.0, duration);
+  }
+
+  /**
+   * Creates an action that holds a fixed voltage from the start.
+   *
+   * @param name the name of the log file, without its extension
+   * @param voltage volts to apply, negative to drive backwards
+   * @param duration seconds to apply the voltage for
+   * @return the action
+   */
+  public static CharacterizeDriveAction stepVoltage(String name, double voltage, double duration) {
+    return new CharacterizeDriveAction(name, 0.0, voltage, duration);
+  }
+
+  @Override
+  public void start() {
+    log.clear();
+    distanceDriven = 0.0;
+    startPosition = Double.NaN;
+    appliedVoltage = 0.0;
+    startTime = Timer.getFPGATimestamp();
+    notifier = new Notifier(this::sample);
+    notifier.startPeriodic(AutoConstants.kCharacterizationPeriod);
+  }
+
+  @Override
+  public void update() {}
+
+  @Override
+  public boolean isFinished() {
+    return Timer.getFPGATimestamp() - startTime >= duration
+        || distanceDriven >= AutoConstants.kCharacterizationMaxDistance;
+  }
+
+  @Override
+  public void done() {
+    if (notifier != null) {
+      notifier.stop();
+      notifier.close();
+      notifier = null;
+    }
+    drive.setPowers(0.0, 0.0);
+
+    LOG_WRITER.execute(this::writeLog);
+  }
+
+  private void writeLog() {
+    File file = new File(LOG_DIRECTORY, name + ".bin");
+    try {
+      log.write(file);
+      DebugLog.logNote(
+          String.format("Wrote %d characterization samples to %s", log.getSize(), file));
+    } catch (IOException e) {
+      DebugLog.logThrowableCrash(e);
+    }
+  }
+
+  private void sample() {
+    double timestamp = Timer.getFPGATimestamp();
+    double position =
+        drive.convertEncoderTicksToInches(
+                drive.getLeftEncoderPosition() + drive.getRightEncoderPosition())
+            / 2.0;
+    double velocity =
+        drive.convertEncoderTicksToInches(
+                drive.getLeftEncoderVelocity() + drive.getRightEncoderVelocity())
+            * 10.0
+            / 2.0;
+
+    if (Double.isNaN(startPosition)) {
+      startPosition = position;
+    }
+    distanceDriven = Math.abs(position - startPosition);
+
+    // The readings were taken while the last voltage was applied, so they are logged with it.
+    log.add(timestamp, appliedVoltage, position, velocity);
+
+    // The drive Talons are not voltage compensated, so the power is scaled by the battery voltage.
+    double batteryVoltage = RobotController.getBatteryVoltage();
+    double voltage = (rampRate * (timestamp - startTime)) + stepVoltage;
+    appliedVoltage = Math.max(-batteryVoltage, Math.min(voltage, batteryVoltage));
+    drive.setPowers(appliedVoltage / batteryVoltage, appliedVoltage / batteryVoltage);
+  }
+}
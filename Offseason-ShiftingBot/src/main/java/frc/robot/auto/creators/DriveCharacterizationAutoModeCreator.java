@@ -0,0 +1,14 @@
+package frc.robot.auto.creators;
+
+import frc.robot.AutoFieldState;
+import frc.robot.auto.AutoModeBase;
+import frc.robot.auto.modes.DriveCharacterizationMode;
+
+public class DriveCharacterizationAutoModeCreator implements AutoModeCreator {
+  private DriveCharacterizationMode auto = new DriveCharacterizationMode();
+
+  @Override
+  public AutoModeBase getStateDependentAutoMode(AutoFieldState fieldState) {
+    return auto;
+  }
+}
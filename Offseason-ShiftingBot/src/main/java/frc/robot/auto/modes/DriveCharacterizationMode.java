@@ -0,0 +1,52 @@
+package frc.robot.auto.modes;
+
+import frc.robot.auto.AutoConstants;
+import frc.robot.auto.AutoModeBase;
+import frc.robot.auto.AutoModeEndedException;
+import frc.robot.auto.actions.CharacterizeDriveAction;
+import frc.robot.auto.actions.RunOnceAction;
+import frc.robot.auto.actions.WaitAction;
+import frc.robot.components.Drive;
+
+/**
+ * Characterizes the drivetrain in low gear by driving forwards and backwards with slowly ramping
+ * and then stepped voltages. Each run leaves a log on the robot for the fitCharacterization task.
+ * Give the robot plenty of room in front of and behind it before running this.
+ */
+public class DriveCharacterizationMode extends AutoModeBase {
+  @Override
+  protected void routine() throws AutoModeEndedException {
+    runAction(
+        new RunOnceAction() {
+          @Override
+          public void runOnce() {
+            Drive.getinstance().setGear(false);
+            Drive.getinstance().setDriveMode(Drive.SystemMode.OPEN_LOOP_PERCENTAGE);
+          }
+        });
+
+    runAction(
+        CharacterizeDriveAction.quasiStatic(
+            "quasistatic-forward",
+            AutoConstants.kCharacterizationRampRate,
+            AutoConstants.kCharacterizationRampDuration));
+    runAction(new WaitAction(1.0));
+    runAction(
+        CharacterizeDriveAction.quasiStatic(
+            "quasistatic-backward",
+            -AutoConstants.kCharacterizationRampRate,
+            AutoConstants.kCharacterizationRampDuration));
+    runAction(new WaitAction(1.0));
+    runAction(
+        CharacterizeDriveAction.stepVoltage(
+            "step-forward",
+            AutoConstants.kCharacterizationStepVoltage,
+            AutoConstants.kCharacterizationStepDuration));
+    runAction(new WaitAction(1.0));
+    runAction(
+        CharacterizeDriveAction.stepVoltage(
+            "step-backward",
+            -AutoConstants.kCharacterizationStepVoltage,
+            AutoConstants.kCharacterizationStepDuration));
+  }
+}
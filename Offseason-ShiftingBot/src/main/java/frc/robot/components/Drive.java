@@ -163,6 +163,24 @@ public class Drive extends Subsystem {
     return rightMaster.getSelectedSensorPosition(driveConfiguration.profileSlotId);
   }
 
+  /**
+   * Returns the current velocity of the left motor in encoder ticks per 100 milliseconds.
+   *
+   * @return the current velocity of the left motor
+   */
+  public int getLeftEncoderVelocity() {
+    return leftMaster.getSelectedSensorVelocity(driveConfiguration.profileSlotId);
+  }
+
+  /**
+   * Returns the current velocity of the right motor in encoder ticks per 100 milliseconds.
+   *
+   * @return the current velocity of the right motor
+   */
+  public int getRightEncoderVelocity() {
+    return rightMaster.getSelectedSensorVelocity(driveConfiguration.profileSlotId);
+  }
+
   /**
    * Converts a number of encoder ticks into distance based on the size of the wheel.
    *